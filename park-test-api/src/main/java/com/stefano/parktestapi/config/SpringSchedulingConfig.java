@@ -0,0 +1,9 @@
+package com.stefano.parktestapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@EnableScheduling
+@Configuration
+public class SpringSchedulingConfig {
+}
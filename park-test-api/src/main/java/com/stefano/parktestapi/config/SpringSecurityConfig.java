@@ -2,6 +2,14 @@ package com.stefano.parktestapi.config;
 
 import com.stefano.parktestapi.jwt.JwtAuthenticationEntryPoint;
 import com.stefano.parktestapi.jwt.JwtAuthorizationFilter;
+import com.stefano.parktestapi.security.BCryptCostCalibrator;
+import com.stefano.parktestapi.security.BoundedPasswordEncoder;
+import com.stefano.parktestapi.security.CalibratedBCryptPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,12 +18,13 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
+import java.time.Duration;
+
 import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 @Configuration
@@ -38,9 +47,11 @@ public class SpringSecurityConfig {
                 .formLogin(form -> form.disable())
                 .httpBasic(basic -> basic.disable())
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 antMatcher(HttpMethod.POST, "/api/v1/usuarios"),
                                 antMatcher(HttpMethod.POST, "/api/v1/auth"),
+                                antMatcher(HttpMethod.POST, "/api/v1/auth/refresh"),
                                 antMatcher("/docs-park.html"),
                                 antMatcher("/docs-park/**"),
                                 antMatcher("/swagger-ui.html"),
@@ -63,8 +74,19 @@ public class SpringSecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${api.security.password.pool-size:0}") int poolSize,
+                                           @Value("${api.security.password.queue-capacity:0}") int queueCapacity,
+                                           @Value("${api.security.password.retry-after-seconds:1}") long retryAfterSeconds,
+                                           @Value("${api.security.password.bcrypt-strength:0}") int strength,
+                                           @Value("${api.security.password.bcrypt-target:250ms}") Duration target) {
+        int cost = strength > 0 ? strength : BCryptCostCalibrator.calibrate(target, 10, 16);
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        int queue = queueCapacity > 0 ? queueCapacity : threads * 4;
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new CalibratedBCryptPasswordEncoder(cost, meterRegistry), threads, queue, retryAfterSeconds);
+        new ExecutorServiceMetrics(encoder.getExecutor(), "password.encoder", Tags.empty()).bindTo(meterRegistry);
+        return encoder;
     }
 
     @Bean
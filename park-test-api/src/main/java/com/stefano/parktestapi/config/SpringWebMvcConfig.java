@@ -0,0 +1,23 @@
+package com.stefano.parktestapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class SpringWebMvcConfig implements WebMvcConfigurer {
+
+    /**
+     * Respostas assíncronas (streams SSE) ficam abertas até este limite; o cliente reconecta em seguida.
+     */
+    @Value("${api.web.async-timeout:PT30M}")
+    private Duration asyncTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+}
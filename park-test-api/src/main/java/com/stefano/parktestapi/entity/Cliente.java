@@ -12,23 +12,35 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.io.Serializable;
+import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
-@Table(name = "clientes")
+@Table(name = "clientes", indexes = {
+        @Index(name = "idx_clientes_nome_id", columnList = "nome, id"),
+        @Index(name = "idx_clientes_nome_busca", columnList = "nome_busca, id"),
+        @Index(name = "idx_clientes_id_usuario", columnList = "id_usuario")
+})
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 public class Cliente implements Serializable {
 
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     @Column(name = "nome", nullable = false, length = 100)
     private String nome;
+    @Column(name = "nome_busca", length = 100)
+    private String nomeBusca;
     @Column(name = "cpf", nullable = false, unique = true, length = 11)
     private String cpf;
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_usuario", nullable = false)
     private Usuario usuario;
 
@@ -45,6 +57,24 @@ public class Cliente implements Serializable {
     @Column(name = "modificado_por")
     private String modificadoPor;
 
+    @PrePersist
+    @PreUpdate
+    void atualizarNomeBusca() {
+        this.nomeBusca = normalizarBusca(nome);
+    }
+
+    /**
+     * Forma do nome usada na busca: sem acentos, em minúsculas e apenas com letras, dígitos e espaços simples,
+     * para que "joao" encontre "João" com um {@code like 'joao%'} sobre o índice de {@code nome_busca}.
+     */
+    public static String normalizarBusca(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -0,0 +1,75 @@
+package com.stefano.parktestapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Entity
+@Table(name = "clientes_tem_vagas")
+@EntityListeners(AuditingEntityListener.class)
+public class ClienteVaga implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "numero_recibo", nullable = false, unique = true, length = 32)
+    private String recibo;
+    @Column(name = "placa", nullable = false, length = 8)
+    private String placa;
+    @Column(name = "marca", nullable = false, length = 45)
+    private String marca;
+    @Column(name = "modelo", nullable = false, length = 45)
+    private String modelo;
+    @Column(name = "cor", nullable = false, length = 45)
+    private String cor;
+    @Column(name = "data_entrada", nullable = false)
+    private LocalDateTime dataEntrada;
+    @Column(name = "data_saida")
+    private LocalDateTime dataSaida;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_cliente", nullable = false)
+    private Cliente cliente;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_vaga", nullable = false)
+    private Vaga vaga;
+
+    @CreatedDate
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriaCao;
+    @LastModifiedDate
+    @Column(name = "data_modificacao")
+    private LocalDateTime dataModificacao;
+    @CreatedBy
+    @Column(name = "criado_por")
+    private String criadoPor;
+    @LastModifiedBy
+    @Column(name = "modificado_por")
+    private String modificadoPor;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        ClienteVaga that = (ClienteVaga) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -32,6 +32,9 @@ public class Usuario implements Serializable {
     @Enumerated(EnumType.STRING)
     @Column(name = "role", nullable = false, length = 25)
     private Role role = Role.ROLE_CLIENTE;
+    // alterado apenas pelo update atômico de UsuarioRepository.incrementarTokenEpoch
+    @Column(name = "token_epoch", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private int tokenEpoch;
 
     @CreatedDate
     @Column(name = "data_criacao")
@@ -17,7 +17,10 @@ import java.util.Objects;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 @Entity
-@Table(name = "vagas")
+@Table(name = "vagas", indexes = {
+        @Index(name = "idx_vagas_status_codigo", columnList = "status, codigo"),
+        @Index(name = "idx_vagas_usuario_reserva", columnList = "id_usuario_reserva")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Vaga implements Serializable {
 
@@ -29,6 +32,19 @@ public class Vaga implements Serializable {
     @Column(name = "status", nullable = false)
     @Enumerated(EnumType.STRING)
     private StatusVaga statusVaga;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_zona")
+    private Zona zona;
+    @Column(name = "reservada_ate")
+    private LocalDateTime reservadaAte;
+    // id do usuário dono da reserva; só ele pode usá-la no check-in
+    @Column(name = "id_usuario_reserva")
+    private Long reservadaPor;
+    @Column(name = "tipo")
+    @Enumerated(EnumType.STRING)
+    private TipoVaga tipo;
+    @Column(name = "distancia")
+    private Integer distancia;
     @CreatedDate
     @Column(name = "data_criacao")
     private LocalDateTime dataCriaCao;
@@ -42,6 +58,13 @@ public class Vaga implements Serializable {
     @Column(name = "modificado_por")
     private String modificadoPor;
 
+    /**
+     * Id da zona sem inicializar o proxy, ou {@code null} para vagas sem zona.
+     */
+    public Long getZonaId() {
+        return zona != null ? zona.getId() : null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -58,7 +81,14 @@ public class Vaga implements Serializable {
     }
 
     public enum StatusVaga {
-        LIVRE, OCUPADA
+        LIVRE, OCUPADA, RESERVADA
+    }
+
+    /**
+     * Vagas sem tipo são tratadas como {@link #COMUM}.
+     */
+    public enum TipoVaga {
+        COMUM, PCD, IDOSO, ELETRICO
     }
 
 }
\ No newline at end of file
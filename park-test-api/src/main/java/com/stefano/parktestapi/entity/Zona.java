@@ -0,0 +1,72 @@
+package com.stefano.parktestapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Zona (bloco ou setor) de um nível do estacionamento. As vagas pertencem à zona cujo código é o prefixo
+ * do código da vaga: {@code A-01} pertence à zona {@code A}.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@Entity
+@Table(name = "zonas")
+@EntityListeners(AuditingEntityListener.class)
+public class Zona implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "codigo", nullable = false, unique = true, length = 3)
+    private String codigo;
+    @Column(name = "nome", nullable = false, length = 45)
+    private String nome;
+    @Column(name = "nivel", nullable = false)
+    private Integer nivel;
+    @CreatedDate
+    @Column(name = "data_criacao")
+    private LocalDateTime dataCriaCao;
+    @LastModifiedDate
+    @Column(name = "data_modificacao")
+    private LocalDateTime dataModificacao;
+    @CreatedBy
+    @Column(name = "criado_por")
+    private String criadoPor;
+    @LastModifiedBy
+    @Column(name = "modificado_por")
+    private String modificadoPor;
+
+    /**
+     * Código da zona a que pertence uma vaga: o trecho antes do '-', ou {@code null} se o código não tiver prefixo.
+     */
+    public static String prefixoDe(String codigoVaga) {
+        int separador = codigoVaga.indexOf('-');
+        return separador > 0 ? codigoVaga.substring(0, separador) : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        Zona zona = (Zona) o;
+        return Objects.equals(id, zona.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
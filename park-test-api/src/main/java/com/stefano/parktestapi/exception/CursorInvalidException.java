@@ -0,0 +1,8 @@
+package com.stefano.parktestapi.exception;
+
+public class CursorInvalidException extends RuntimeException {
+
+    public CursorInvalidException(String message) {
+        super(message);
+    }
+}
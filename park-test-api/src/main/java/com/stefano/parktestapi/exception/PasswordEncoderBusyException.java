@@ -0,0 +1,14 @@
+package com.stefano.parktestapi.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordEncoderBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordEncoderBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
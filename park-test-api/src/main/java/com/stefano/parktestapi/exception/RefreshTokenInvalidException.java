@@ -0,0 +1,8 @@
+package com.stefano.parktestapi.exception;
+
+public class RefreshTokenInvalidException extends RuntimeException {
+
+    public RefreshTokenInvalidException(String message) {
+        super(message);
+    }
+}
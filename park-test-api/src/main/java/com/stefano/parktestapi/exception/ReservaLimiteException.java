@@ -0,0 +1,8 @@
+package com.stefano.parktestapi.exception;
+
+public class ReservaLimiteException extends RuntimeException {
+
+    public ReservaLimiteException(String message) {
+        super(message);
+    }
+}
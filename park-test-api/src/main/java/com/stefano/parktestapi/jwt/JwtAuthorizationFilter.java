@@ -1,11 +1,13 @@
 package com.stefano.parktestapi.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,31 +21,46 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     @Autowired
     private JwtUserDetailsService detailsService;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private JwtTokenCache tokenCache;
+    @Value("${api.security.jwt.stateless:true}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
-        final String token = request.getHeader(JwtUtils.JWT_AUTHORIZATION);
+        final String token = request.getHeader(JwtService.JWT_AUTHORIZATION);
 
-        if (token == null || !token.startsWith(JwtUtils.JWT_BEARER)) {
+        if (token == null || !token.startsWith(JwtService.JWT_BEARER)) {
             log.info("JWT Token está nulo, vazio ou não iniciado com 'Bearer '.");
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (!JwtUtils.isTokenValid(token)) {
+        Claims claims = tokenCache.getClaims(token);
+        if (claims == null) {
             log.warn("JWT Token está inválido ou expirado.");
             filterChain.doFilter(request, response);
             return;
         }
 
-        String username = JwtUtils.getUsernameFromToken(token);
-        toAuthentication(request, username);
+        if (!jwtService.isEpochCurrent(claims)) {
+            log.warn("JWT Token revogado por troca de senha ou logout.");
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        toAuthentication(request, claims);
         filterChain.doFilter(request, response);
     }
 
-    private void toAuthentication(HttpServletRequest request, String username) {
-        UserDetails userDetails = detailsService.loadUserByUsername(username);
+    private void toAuthentication(HttpServletRequest request, Claims claims) {
+        UserDetails userDetails = stateless ? jwtService.toUserDetails(claims) : null;
+        if (userDetails == null) {
+            userDetails = detailsService.loadUserByUsername(claims.getSubject());
+        }
 
         UsernamePasswordAuthenticationToken authenticationToken = UsernamePasswordAuthenticationToken
                 .authenticated(userDetails, null, userDetails.getAuthorities());
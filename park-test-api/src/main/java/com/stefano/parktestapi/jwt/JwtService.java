@@ -0,0 +1,226 @@
+package com.stefano.parktestapi.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.stefano.parktestapi.entity.Usuario;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Emissão e verificação de tokens JWT (HS256).
+ * <p>
+ * A chave e o leitor de JSON são criados uma única vez; a verificação da assinatura reutiliza
+ * um {@link Mac} e buffers por thread, sem alocação por requisição.
+ */
+@Slf4j
+@Service
+public class JwtService {
+
+    public static final String JWT_BEARER = "Bearer ";
+    public static final String JWT_AUTHORIZATION = "Authorization";
+    public static final String CLAIM_ID = "id";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_EPOCH = "epoch";
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final int HS256_SIGNATURE_LENGTH = 32;
+    private static final int HS256_SIGNATURE_BASE64_LENGTH = 43;
+
+    private final SecretKey key;
+    private final Duration expiration;
+    private final ObjectReader claimsReader;
+    private final ThreadLocal<Verifier> verifiers;
+    private final TokenEpochRegistry tokenEpochRegistry;
+
+    public JwtService(@Value("${api.security.jwt.secret-key:0123456789-0123456789-0123456789}") String secretKey,
+                      @Value("${api.security.jwt.expire-minutes:60}") long expireMinutes,
+                      ObjectMapper objectMapper,
+                      TokenEpochRegistry tokenEpochRegistry) {
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.expiration = Duration.ofMinutes(expireMinutes);
+        this.claimsReader = objectMapper.readerFor(Map.class);
+        this.verifiers = ThreadLocal.withInitial(() -> new Verifier(key));
+    }
+
+    /**
+     * Emite o token com a época do usuário já carregado no login ou na renovação, sem nova consulta.
+     */
+    public JwtToken createToken(JwtUserDetails user) {
+        return createToken(user.getId(), user.getUsername(), user.getRole().substring("ROLE_".length()), user.getTokenEpoch());
+    }
+
+    public JwtToken createToken(Long id, String username, String role, int epoch) {
+        Date issuedAt = new Date();
+        Date limit = new Date(issuedAt.getTime() + expiration.toMillis());
+        String token = Jwts.builder()
+                .header().add("typ", "JWT")
+                .and()
+                .subject(username)
+                .issuedAt(issuedAt)
+                .expiration(limit)
+                .signWith(key, Jwts.SIG.HS256)
+                .claim(CLAIM_ID, id)
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_EPOCH, epoch)
+                .compact();
+        return new JwtToken(token);
+    }
+
+    /**
+     * Verifica a assinatura e a expiração do token e devolve suas claims,
+     * ou {@code null} se o token for inválido ou estiver expirado.
+     */
+    public Claims getClaims(String token) {
+        String jws = refactorToken(token);
+        if (!isSignatureValid(jws)) {
+            log.error("Token invalido: assinatura não confere");
+            return null;
+        }
+        Claims claims = readPayload(jws);
+        if (claims == null) {
+            return null;
+        }
+        Date exp = claims.getExpiration();
+        if (exp == null || exp.getTime() <= System.currentTimeMillis()) {
+            log.error("Token invalido: expirado em {}", exp);
+            return null;
+        }
+        return claims;
+    }
+
+    public String getUsernameFromToken(String token) {
+        Claims claims = getClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    /**
+     * Monta o principal diretamente das claims já verificadas, sem consultar o banco.
+     * Devolve {@code null} para tokens que não carregam o id do usuário.
+     */
+    public JwtUserDetails toUserDetails(Claims claims) {
+        Object id = claims.get(CLAIM_ID);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (!(id instanceof Number) || role == null) {
+            return null;
+        }
+        return new JwtUserDetails(((Number) id).longValue(), claims.getSubject(), Usuario.Role.valueOf("ROLE_" + role));
+    }
+
+    /**
+     * Confere se o token foi emitido na época atual do usuário, ou seja, depois da última troca de
+     * senha ou logout. A consulta é feita em memória.
+     */
+    public boolean isEpochCurrent(Claims claims) {
+        Object id = claims.get(CLAIM_ID);
+        Object epoch = claims.get(CLAIM_EPOCH);
+        if (!(id instanceof Number) || !(epoch instanceof Number)) {
+            return false;
+        }
+        return ((Number) epoch).intValue() == tokenEpochRegistry.atual(((Number) id).longValue());
+    }
+
+    public boolean isTokenValid(String token) {
+        Claims claims = getClaims(token);
+        return claims != null && isEpochCurrent(claims);
+    }
+
+    /**
+     * Caminho rápido de verificação HS256: recalcula o HMAC de {@code header.payload} e compara em
+     * tempo constante com a assinatura, sem decodificar JSON nem lançar exceções.
+     */
+    public boolean isSignatureValid(String jws) {
+        int firstDot = jws.indexOf('.');
+        int lastDot = jws.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot || lastDot == jws.length() - 1) {
+            return false;
+        }
+        return verifiers.get().verify(jws, lastDot);
+    }
+
+    private Claims readPayload(String jws) {
+        int firstDot = jws.indexOf('.');
+        int lastDot = jws.lastIndexOf('.');
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(jws.substring(firstDot + 1, lastDot));
+            Map<String, Object> payload = claimsReader.readValue(json);
+            return Jwts.claims().add(payload).build();
+        } catch (IllegalArgumentException | IOException ex) {
+            log.error(String.format("Token invalido %s", ex.getMessage()));
+        }
+        return null;
+    }
+
+    private static String refactorToken(String token) {
+        if (token.startsWith(JWT_BEARER)) {
+            return token.substring(JWT_BEARER.length());
+        }
+        return token;
+    }
+
+    private static final class Verifier {
+
+        private final Mac mac;
+        private final byte[] expected = new byte[HS256_SIGNATURE_LENGTH];
+        private final byte[] actual = new byte[HS256_SIGNATURE_LENGTH];
+        private final byte[] signature = new byte[HS256_SIGNATURE_BASE64_LENGTH];
+        private byte[] input = new byte[512];
+
+        private Verifier(SecretKey key) {
+            try {
+                this.mac = Mac.getInstance(HMAC_SHA256);
+                this.mac.init(key);
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("HmacSHA256 indisponível", ex);
+            }
+        }
+
+        private boolean verify(String jws, int lastDot) {
+            int signatureLength = jws.length() - lastDot - 1;
+            if (signatureLength != HS256_SIGNATURE_BASE64_LENGTH) {
+                return false;
+            }
+            if (input.length < lastDot) {
+                input = new byte[Integer.highestOneBit(lastDot) << 1];
+            }
+            if (!copyAscii(jws, 0, lastDot, input) || !copyAscii(jws, lastDot + 1, signatureLength, signature)) {
+                return false;
+            }
+            try {
+                mac.update(input, 0, lastDot);
+                mac.doFinal(expected, 0);
+                int decoded = Base64.getUrlDecoder().decode(signature, actual);
+                return decoded == HS256_SIGNATURE_LENGTH && MessageDigest.isEqual(expected, actual);
+            } catch (GeneralSecurityException | IllegalArgumentException ex) {
+                mac.reset();
+                return false;
+            }
+        }
+
+        private static boolean copyAscii(String source, int offset, int length, byte[] target) {
+            for (int i = 0; i < length; i++) {
+                char c = source.charAt(offset + i);
+                if (c > 0x7F) {
+                    return false;
+                }
+                target[i] = (byte) c;
+            }
+            return true;
+        }
+    }
+}
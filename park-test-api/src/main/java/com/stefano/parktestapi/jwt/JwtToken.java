@@ -1,15 +1,18 @@
 package com.stefano.parktestapi.jwt;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @NoArgsConstructor
-@AllArgsConstructor
 @Getter
 @Setter
 public class JwtToken {
 
     private String token;
+    private String refreshToken;
+
+    public JwtToken(String token) {
+        this.token = token;
+    }
 }
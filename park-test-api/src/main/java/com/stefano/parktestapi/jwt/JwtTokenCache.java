@@ -0,0 +1,84 @@
+package com.stefano.parktestapi.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de tokens já verificados, indexado pelo SHA-256 do token.
+ * <p>
+ * Cada entrada expira junto com o próprio token ({@code exp}), então um token repetido dentro da sua
+ * validade dispensa a verificação HMAC e a leitura do JSON. Tokens inválidos nunca são armazenados.
+ */
+@Component
+public class JwtTokenCache {
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final Cache<ByteBuffer, Claims> tokens;
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(JwtTokenCache::sha256);
+
+    public JwtTokenCache(JwtService jwtService,
+                         MeterRegistry meterRegistry,
+                         @Value("${api.security.jwt.cache.enabled:true}") boolean enabled,
+                         @Value("${api.security.jwt.cache.maximum-size:50000}") long maximumSize) {
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpiraComToken())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.tokens");
+    }
+
+    /**
+     * Devolve as claims do token, verificando-o apenas na primeira vez que é apresentado.
+     * Devolve {@code null} para tokens inválidos ou expirados.
+     */
+    public Claims getClaims(String token) {
+        if (!enabled) {
+            return jwtService.getClaims(token);
+        }
+        ByteBuffer key = ByteBuffer.wrap(digests.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return tokens.get(key, k -> jwtService.getClaims(token));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+
+    private static class ExpiraComToken implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            long restante = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(restante, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
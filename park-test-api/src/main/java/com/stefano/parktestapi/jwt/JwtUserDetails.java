@@ -13,6 +13,14 @@ public class JwtUserDetails extends User {
         this.usuario = usuario;
     }
 
+    public JwtUserDetails(Long id, String username, Usuario.Role role) {
+        super(username, "", AuthorityUtils.createAuthorityList(role.name()));
+        this.usuario = new Usuario();
+        this.usuario.setId(id);
+        this.usuario.setUsername(username);
+        this.usuario.setRole(role);
+    }
+
     public Long getId() {
         return this.usuario.getId();
     }
@@ -20,4 +28,8 @@ public class JwtUserDetails extends User {
     public String getRole() {
         return this.usuario.getRole().name();
     }
+
+    public int getTokenEpoch() {
+        return this.usuario.getTokenEpoch();
+    }
 }
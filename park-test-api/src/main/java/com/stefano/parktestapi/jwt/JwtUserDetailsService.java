@@ -1,26 +1,60 @@
 package com.stefano.parktestapi.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.stefano.parktestapi.entity.Usuario;
 import com.stefano.parktestapi.service.UsuarioService;
-import lombok.RequiredArgsConstructor;
+import com.stefano.parktestapi.service.event.UsuarioAlteradoEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
 
-@RequiredArgsConstructor
 @Service
-public class JwtUserDetailsService implements UserDetailsService {
+public class JwtUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioService usuarioService;
+    // Guarda o usuário e não o UserDetails: o AuthenticationManager apaga a senha do principal após o login.
+    private final Cache<String, Usuario> usuarios;
+
+    public JwtUserDetailsService(UsuarioService usuarioService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${api.security.user-cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${api.security.user-cache.ttl:10m}") Duration ttl) {
+        this.usuarioService = usuarioService;
+        this.usuarios = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usuarios, "usuarios.details");
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Usuario usuario = usuarioService.buscarPorUsername(username);
+        Usuario usuario = usuarios.get(username, usuarioService::buscarPorUsername);
+        return new JwtUserDetails(usuario);
+    }
+
+    /**
+     * Chamado pelo AuthenticationManager após um login bem-sucedido quando o hash armazenado usa um
+     * custo diferente do atual; persiste o novo hash gerado a partir da senha informada.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Usuario usuario = usuarioService.atualizarSenhaCodificada(user.getUsername(), newPassword);
         return new JwtUserDetails(usuario);
     }
 
-    public JwtToken getTokenAuthenticated (String username) {
-        Usuario.Role role = usuarioService.buscarRolePorUsername(username);
-        return JwtUtils.createToken(username, role.name().substring("ROLE_".length()));
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuarioAlterado(UsuarioAlteradoEvent event) {
+        usuarios.invalidate(event.username());
     }
 }
@@ -0,0 +1,67 @@
+package com.stefano.parktestapi.jwt;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.stefano.parktestapi.repository.UsuarioRepository;
+import com.stefano.parktestapi.service.event.UsuarioAlteradoEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Época atual dos tokens de cada usuário, mantida em memória.
+ * <p>
+ * Todo token carrega a época vigente na emissão; trocar a senha ou fazer logout incrementa a época no
+ * banco e recarrega o valor em memória após o commit, invalidando de uma vez todos os tokens anteriores.
+ * Cada época fica em cache por no máximo {@code ttl}: em outra instância da aplicação a troca só é vista
+ * quando a entrada vence, então o {@code ttl} limita por quanto tempo um token revogado ainda é aceito lá.
+ */
+@Component
+public class TokenEpochRegistry {
+
+    private static final int USUARIO_INEXISTENTE = -1;
+
+    private final UsuarioRepository usuarioRepository;
+    private final LoadingCache<Long, Integer> epochs;
+
+    public TokenEpochRegistry(UsuarioRepository usuarioRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${api.security.jwt.epoch-cache.maximum-size:100000}") long maximumSize,
+                              @Value("${api.security.jwt.epoch-cache.ttl:PT30S}") Duration ttl) {
+        this.usuarioRepository = usuarioRepository;
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(this::carregar);
+        CaffeineCacheMetrics.monitor(meterRegistry, epochs, "jwt.epochs");
+    }
+
+    public int atual(Long usuarioId) {
+        return epochs.get(usuarioId);
+    }
+
+    /**
+     * Descarta todas as épocas, que voltam a ser lidas do banco na próxima verificação.
+     */
+    public void invalidar() {
+        epochs.invalidateAll();
+    }
+
+    /**
+     * Recarrega a época após o commit. Usa {@code put} e não {@code invalidate} para que uma leitura
+     * concorrente feita antes do commit não volte a publicar o valor antigo.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuarioAlterado(UsuarioAlteradoEvent event) {
+        epochs.put(event.id(), carregar(event.id()));
+    }
+
+    private Integer carregar(Long usuarioId) {
+        return usuarioRepository.findTokenEpochById(usuarioId).orElse(USUARIO_INEXISTENTE);
+    }
+}
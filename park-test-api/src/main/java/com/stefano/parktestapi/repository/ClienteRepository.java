@@ -2,16 +2,47 @@ package com.stefano.parktestapi.repository;
 
 import com.stefano.parktestapi.entity.Cliente;
 import com.stefano.parktestapi.repository.projection.ClienteProjection;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+import java.util.List;
+import java.util.Optional;
+
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, ClienteRepositoryCustom {
 
     @Query("select c from Cliente c")
-    Page<ClienteProjection> findAllPegeable(Pageable pageable);
+    Slice<ClienteProjection> findAllSlice(Pageable pageable);
+
+    @Query("select c from Cliente c order by c.nome, c.id")
+    List<ClienteProjection> findPrimeirosPorNome(Limit limit);
+
+    /**
+     * O {@code c.nome >= :nome} redundante dá ao otimizador o início da faixa no índice {@code (nome, id)}; só
+     * com o {@code or}, o índice é percorrido desde a primeira linha.
+     */
+    @Query("select c from Cliente c where c.nome >= :nome and (c.nome > :nome or c.id > :id) order by c.nome, c.id")
+    List<ClienteProjection> findPorNomeDepoisDe(String nome, Long id, Limit limit);
+
+    @Query("select c from Cliente c where c.nomeBusca like :prefixo% order by c.nomeBusca, c.id")
+    List<ClienteProjection> findByNomeBuscaPrefixo(String prefixo, Limit limit);
+
+    List<ClienteProjection> findByCpfStartingWithOrderByCpfAsc(String prefixo, Limit limit);
+
+    @Query("select c from Cliente c where c.nomeBusca is null")
+    List<ClienteProjection> findSemNomeBusca(Limit limit);
+
+    @Modifying
+    @Query("update Cliente c set c.nomeBusca = :nomeBusca where c.id = :id")
+    int atualizarNomeBusca(Long id, String nomeBusca);
+
+    Optional<ClienteProjection> findProjectionById(Long id);
+
+    Optional<ClienteProjection> findProjectionByUsuarioId(Long id);
 
-    Cliente findByUsuarioId(Long id);
+    Optional<Cliente> findByCpf(String cpf);
 }
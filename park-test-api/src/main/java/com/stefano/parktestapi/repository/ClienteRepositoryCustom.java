@@ -0,0 +1,14 @@
+package com.stefano.parktestapi.repository;
+
+import com.stefano.parktestapi.repository.projection.ClienteProjection;
+
+import java.util.stream.Stream;
+
+public interface ClienteRepositoryCustom {
+
+    /**
+     * Lê id, nome e CPF de todos os clientes em ordem de id, pelo cursor do banco, sem passar pelo contexto de
+     * persistência. O stream deve ser consumido e fechado dentro da transação.
+     */
+    Stream<ClienteProjection> streamExportacao();
+}
@@ -0,0 +1,54 @@
+package com.stefano.parktestapi.repository;
+
+import com.stefano.parktestapi.repository.projection.ClienteProjection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.stream.Stream;
+
+public class ClienteRepositoryImpl implements ClienteRepositoryCustom {
+
+    private static final String EXPORTACAO = "select id, nome, cpf from clientes order by id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    /**
+     * @param fetchSize linhas por ida ao banco na exportação; no MySQL, {@link Integer#MIN_VALUE} faz o Connector/J
+     *                  entregar as linhas uma a uma, só nesta consulta, em vez de carregar todo o resultado
+     */
+    public ClienteRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                 @Value("${api.clientes.exportacao.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Stream<ClienteProjection> streamExportacao() {
+        return jdbcTemplate.queryForStream(con -> {
+            PreparedStatement ps = con.prepareStatement(EXPORTACAO, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (rs, n) -> new Exportado(rs.getLong("id"), rs.getString("nome"), rs.getString("cpf")));
+    }
+
+    private record Exportado(Long id, String nome, String cpf) implements ClienteProjection {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getNome() {
+            return nome;
+        }
+
+        @Override
+        public String getCpf() {
+            return cpf;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.stefano.parktestapi.repository;
+
+import com.stefano.parktestapi.entity.ClienteVaga;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ClienteVagaRepository extends JpaRepository<ClienteVaga, Long> {
+
+    @Query("select cv from ClienteVaga cv join fetch cv.cliente join fetch cv.vaga where cv.recibo = :recibo")
+    Optional<ClienteVaga> findByRecibo(@Param("recibo") String recibo);
+
+    /**
+     * Registra a saída somente se o ticket ainda estiver aberto; devolve 0 se já houve check-out.
+     */
+    @Modifying
+    @Query("update ClienteVaga cv set cv.dataSaida = :dataSaida, cv.dataModificacao = :dataSaida, cv.modificadoPor = :usuario " +
+            "where cv.recibo = :recibo and cv.dataSaida is null")
+    int registrarSaida(@Param("recibo") String recibo,
+                       @Param("dataSaida") LocalDateTime dataSaida,
+                       @Param("usuario") String usuario);
+}
@@ -0,0 +1,27 @@
+package com.stefano.parktestapi.repository;
+
+import com.stefano.parktestapi.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("select r from RefreshToken r join fetch r.usuario where r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.id = :id")
+    int removerPorId(Long id);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.usuario.id = :usuarioId")
+    int removerPorUsuarioId(Long usuarioId);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.dataExpiracao < :limite")
+    int removerExpirados(LocalDateTime limite);
+}
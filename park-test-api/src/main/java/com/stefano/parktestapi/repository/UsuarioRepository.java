@@ -1,7 +1,10 @@
 package com.stefano.parktestapi.repository;
 
 import com.stefano.parktestapi.entity.Usuario;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
@@ -10,6 +13,18 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     Optional<Usuario> findByUsername(String username);
 
-    @Query("select u.role from Usuario u where u.username like :username")
-    Usuario.Role findRoleByUsername(String username);
+    @Query("select u.tokenEpoch from Usuario u where u.id = :id")
+    Optional<Integer> findTokenEpochById(Long id);
+
+    /**
+     * Bloqueia a linha do usuário até o fim da transação, serializando as operações que dependem de uma
+     * contagem feita em nome dele.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from Usuario u where u.id = :id")
+    Optional<Usuario> findComBloqueioById(Long id);
+
+    @Modifying
+    @Query("update Usuario u set u.tokenEpoch = u.tokenEpoch + 1 where u.id = :id")
+    int incrementarTokenEpoch(Long id);
 }
\ No newline at end of file
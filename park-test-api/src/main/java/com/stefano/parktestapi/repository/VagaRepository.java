@@ -1,11 +1,107 @@
 package com.stefano.parktestapi.repository;
 
 import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.entity.Zona;
+import com.stefano.parktestapi.repository.projection.VagaReservaProjection;
+import com.stefano.parktestapi.repository.projection.VagaStatusContagemProjection;
+import com.stefano.parktestapi.repository.projection.VagaZonaStatusProjection;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface VagaRepository extends JpaRepository<Vaga, Long> {
+public interface VagaRepository extends JpaRepository<Vaga, Long>, VagaRepositoryCustom {
 
     Optional<Vaga> findByCodigo(String codigo);
+
+    List<Vaga> findByCodigoStartingWithAndCodigoGreaterThanOrderByCodigoAsc(String prefixo, String after, Limit limit);
+
+    List<Vaga> findByStatusVagaAndCodigoStartingWithAndCodigoGreaterThanOrderByCodigoAsc(Vaga.StatusVaga status,
+                                                                                         String prefixo,
+                                                                                         String after,
+                                                                                         Limit limit);
+
+    @Query("select v.codigo from Vaga v where v.codigo in :codigos")
+    List<String> findCodigosExistentes(@Param("codigos") Collection<String> codigos);
+
+    @Query("select v.id as id, z.id as zonaId, v.statusVaga as status, v.codigo as codigo, v.tipo as tipo, " +
+            "v.distancia as distancia from Vaga v left join v.zona z")
+    List<VagaZonaStatusProjection> findAllZonaStatus();
+
+    @Query("select z.id as zonaId, v.statusVaga as status, count(v) as quantidade from Vaga v left join v.zona z " +
+            "group by z.id, v.statusVaga")
+    List<VagaStatusContagemProjection> contarPorZonaEStatus();
+
+    @Modifying
+    @Query("update Vaga v set v.zona = :zona where v.zona is null and v.codigo like :prefixo")
+    int vincularZona(@Param("zona") Zona zona, @Param("prefixo") String prefixo);
+
+    /**
+     * Troca o status somente se a vaga ainda estiver no status esperado; devolve 0 se outra
+     * transação chegou antes.
+     */
+    @Modifying
+    @Query("update Vaga v set v.statusVaga = :novo, v.reservadaAte = null, v.reservadaPor = null, v.dataModificacao = :data, v.modificadoPor = :usuario " +
+            "where v.id = :id and v.statusVaga = :atual")
+    int alterarStatus(@Param("id") Long id,
+                      @Param("atual") Vaga.StatusVaga atual,
+                      @Param("novo") Vaga.StatusVaga novo,
+                      @Param("data") LocalDateTime data,
+                      @Param("usuario") String usuario);
+
+    /**
+     * Reserva a vaga até {@code ate} para o usuário {@code dono} somente se ela ainda estiver livre.
+     */
+    @Modifying
+    @Query("update Vaga v set v.statusVaga = RESERVADA, v.reservadaAte = :ate, v.reservadaPor = :dono, " +
+            "v.dataModificacao = :data, v.modificadoPor = :usuario " +
+            "where v.id = :id and v.statusVaga = LIVRE")
+    int reservar(@Param("id") Long id,
+                 @Param("dono") Long dono,
+                 @Param("ate") LocalDateTime ate,
+                 @Param("data") LocalDateTime data,
+                 @Param("usuario") String usuario);
+
+    /**
+     * Ocupa a vaga reservada por {@code dono}; devolve 0 se a reserva não existir mais, for de outro
+     * usuário ou já tiver vencido, mesmo que a {@code ReservaExpiracao} ainda não a tenha liberado.
+     */
+    @Modifying
+    @Query("update Vaga v set v.statusVaga = OCUPADA, v.reservadaAte = null, v.reservadaPor = null, " +
+            "v.dataModificacao = :data, v.modificadoPor = :usuario " +
+            "where v.codigo = :codigo and v.statusVaga = RESERVADA and v.reservadaPor = :dono and v.reservadaAte > :data")
+    int ocuparReserva(@Param("codigo") String codigo,
+                      @Param("dono") Long dono,
+                      @Param("data") LocalDateTime data,
+                      @Param("usuario") String usuario);
+
+    @Query("select count(v) from Vaga v where v.reservadaPor = :dono " +
+            "and v.statusVaga = RESERVADA and v.reservadaAte > :agora")
+    long countReservasAtivas(@Param("dono") Long dono, @Param("agora") LocalDateTime agora);
+
+    @Query("select v.id as id, v.reservadaAte as reservadaAte from Vaga v " +
+            "where v.statusVaga = RESERVADA")
+    List<VagaReservaProjection> findReservas();
+
+    /**
+     * Bloqueia, entre as vagas informadas, as que ainda estão reservadas com prazo vencido, para que um
+     * check-in concorrente não ocupe uma vaga que está sendo liberada.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Vaga v where v.id in :ids " +
+            "and v.statusVaga = RESERVADA and v.reservadaAte <= :agora")
+    List<Vaga> findReservasVencidas(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("update Vaga v set v.statusVaga = LIVRE, v.reservadaAte = null, v.reservadaPor = null, " +
+            "v.dataModificacao = :data, v.modificadoPor = null where v.id in :ids")
+    int liberarReservas(@Param("ids") Collection<Long> ids, @Param("data") LocalDateTime data);
 }
@@ -0,0 +1,17 @@
+package com.stefano.parktestapi.repository;
+
+import com.stefano.parktestapi.entity.Vaga;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface VagaRepositoryCustom {
+
+    /**
+     * Insere as vagas em um único batch JDBC, sem passar pelo contexto de persistência.
+     *
+     * @param zonas ids das zonas indexados pelo código da zona; vagas cujo prefixo não está no mapa ficam sem zona
+     */
+    void inserirEmLote(List<String> codigos, Map<String, Long> zonas, Vaga.StatusVaga status, LocalDateTime data, String usuario);
+}
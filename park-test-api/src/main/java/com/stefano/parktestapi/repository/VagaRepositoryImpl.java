@@ -0,0 +1,35 @@
+package com.stefano.parktestapi.repository;
+
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.entity.Zona;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class VagaRepositoryImpl implements VagaRepositoryCustom {
+
+    private static final String INSERT = "insert into vagas (codigo, status, id_zona, data_criacao, data_modificacao, criado_por, modificado_por) " +
+            "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void inserirEmLote(List<String> codigos, Map<String, Long> zonas, Vaga.StatusVaga status, LocalDateTime data, String usuario) {
+        Timestamp timestamp = Timestamp.valueOf(data);
+        jdbcTemplate.batchUpdate(INSERT, codigos, codigos.size(), (ps, codigo) -> {
+            ps.setString(1, codigo);
+            ps.setString(2, status.name());
+            ps.setObject(3, zonas.get(Zona.prefixoDe(codigo)), Types.BIGINT);
+            ps.setTimestamp(4, timestamp);
+            ps.setTimestamp(5, timestamp);
+            ps.setString(6, usuario);
+            ps.setString(7, usuario);
+        });
+    }
+}
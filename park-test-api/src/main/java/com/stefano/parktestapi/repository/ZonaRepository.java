@@ -0,0 +1,20 @@
+package com.stefano.parktestapi.repository;
+
+import com.stefano.parktestapi.entity.Zona;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ZonaRepository extends JpaRepository<Zona, Long> {
+
+    Optional<Zona> findByCodigo(String codigo);
+
+    List<Zona> findByCodigoIn(Collection<String> codigos);
+
+    @Query("select z.id from Zona z where z.nivel = :nivel")
+    List<Long> findIdsByNivel(@Param("nivel") Integer nivel);
+}
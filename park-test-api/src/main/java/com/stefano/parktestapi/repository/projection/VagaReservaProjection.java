@@ -0,0 +1,10 @@
+package com.stefano.parktestapi.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface VagaReservaProjection {
+
+    Long getId();
+    LocalDateTime getReservadaAte();
+
+}
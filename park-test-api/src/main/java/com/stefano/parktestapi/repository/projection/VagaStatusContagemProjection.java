@@ -0,0 +1,11 @@
+package com.stefano.parktestapi.repository.projection;
+
+import com.stefano.parktestapi.entity.Vaga;
+
+public interface VagaStatusContagemProjection {
+
+    Long getZonaId();
+    Vaga.StatusVaga getStatus();
+    long getQuantidade();
+
+}
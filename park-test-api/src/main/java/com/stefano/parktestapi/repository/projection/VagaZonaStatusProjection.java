@@ -0,0 +1,14 @@
+package com.stefano.parktestapi.repository.projection;
+
+import com.stefano.parktestapi.entity.Vaga;
+
+public interface VagaZonaStatusProjection {
+
+    Long getId();
+    Long getZonaId();
+    Vaga.StatusVaga getStatus();
+    String getCodigo();
+    Vaga.TipoVaga getTipo();
+    Integer getDistancia();
+
+}
@@ -0,0 +1,45 @@
+package com.stefano.parktestapi.security;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Mede o tempo do BCrypt no hardware atual e escolhe o maior custo cujo hash cabe no tempo alvo.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BCryptCostCalibrator {
+
+    private static final String AMOSTRA = "calibracao-bcrypt";
+
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        // aquece o JIT antes de medir
+        BCrypt.hashpw(AMOSTRA, BCrypt.gensalt(4));
+        BCrypt.hashpw(AMOSTRA, BCrypt.gensalt(4));
+
+        int strength = minStrength;
+        long elapsed = measure(strength);
+        while (strength < maxStrength && elapsed * 2 <= target.toNanos()) {
+            long next = measure(strength + 1);
+            if (next > target.toNanos()) {
+                break;
+            }
+            strength++;
+            elapsed = next;
+        }
+        log.info("BCrypt calibrado com custo {} ({} ms por hash, alvo {} ms)",
+                strength, Duration.ofNanos(elapsed).toMillis(), target.toMillis());
+        return strength;
+    }
+
+    private static long measure(int strength) {
+        String salt = BCrypt.gensalt(strength);
+        long start = System.nanoTime();
+        BCrypt.hashpw(AMOSTRA, salt);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,61 @@
+package com.stefano.parktestapi.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt com custo fixo (calibrado na inicialização) que sinaliza para recodificação qualquer hash
+ * gerado com outro custo, de modo que o tempo de login fique dentro do orçamento para todos os usuários.
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    @Getter
+    private final int strength;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public CalibratedBCryptPasswordEncoder(int strength, MeterRegistry meterRegistry) {
+        super(strength);
+        this.strength = strength;
+        Gauge.builder("password.bcrypt.cost", this, CalibratedBCryptPasswordEncoder::getStrength)
+                .description("Custo do BCrypt usado em novos hashes")
+                .register(meterRegistry);
+        this.encodeTimer = hashTimer("encode", meterRegistry);
+        this.matchesTimer = hashTimer("matches", meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> super.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean matches = matchesTimer.record(() -> super.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(matches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // formato: $2a$12$<salt+hash>
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("password.hash")
+                .description("Tempo de hash BCrypt")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
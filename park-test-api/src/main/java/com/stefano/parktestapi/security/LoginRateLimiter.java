@@ -0,0 +1,63 @@
+package com.stefano.parktestapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stefano.parktestapi.exception.LoginRateLimitException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita as tentativas de login por IP e por username antes de qualquer verificação BCrypt.
+ * <p>
+ * Os baldes ficam em caches limitados em tamanho; um balde ocioso pelo tempo de reabastecimento
+ * está cheio de novo, então pode ser descartado sem alterar o resultado.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private final int usernameCapacity;
+    private final long usernameRefillNanos;
+    private final int ipCapacity;
+    private final long ipRefillNanos;
+    private final Cache<String, TokenBucket> porUsername;
+    private final Cache<String, TokenBucket> porIp;
+
+    public LoginRateLimiter(@Value("${api.security.login-rate.username.capacity:10}") int usernameCapacity,
+                            @Value("${api.security.login-rate.username.refill:PT1M}") Duration usernameRefill,
+                            @Value("${api.security.login-rate.ip.capacity:100}") int ipCapacity,
+                            @Value("${api.security.login-rate.ip.refill:PT1M}") Duration ipRefill,
+                            @Value("${api.security.login-rate.maximum-size:100000}") long maximumSize) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillNanos = usernameRefill.toNanos();
+        this.ipCapacity = ipCapacity;
+        this.ipRefillNanos = ipRefill.toNanos();
+        this.porUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(usernameRefill)
+                .build();
+        this.porIp = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(ipRefill)
+                .build();
+    }
+
+    public void verificar(String username, String ip) {
+        long now = System.nanoTime();
+        long espera = porIp.get(ip, k -> new TokenBucket(ipCapacity, ipRefillNanos, now)).tryAcquire(now);
+        if (espera == 0) {
+            String chave = username.toLowerCase(Locale.ROOT);
+            espera = porUsername.get(chave, k -> new TokenBucket(usernameCapacity, usernameRefillNanos, now)).tryAcquire(now);
+        }
+        if (espera > 0) {
+            log.debug("Tentativas de login excedidas para '{}' a partir de {}", username, ip);
+            throw new LoginRateLimitException("Muitas tentativas de autenticação, tente novamente mais tarde.",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera) + 1));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.stefano.parktestapi.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem locks, implementado como GCRA: o estado é um único {@code long} com o instante
+ * teórico de chegada da próxima requisição, atualizado por CAS.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param capacity     número máximo de requisições em rajada
+     * @param refillNanos  tempo para reabastecer o balde inteiro
+     */
+    public TokenBucket(int capacity, long refillNanos, long nowNanos) {
+        this.intervalNanos = Math.max(1, refillNanos / capacity);
+        this.toleranceNanos = intervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Consome um token. Devolve 0 se houve permissão, ou quantos nanossegundos faltam para o próximo token.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+}
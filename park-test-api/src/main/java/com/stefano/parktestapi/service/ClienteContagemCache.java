@@ -0,0 +1,50 @@
+package com.stefano.parktestapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stefano.parktestapi.service.event.ClienteCriadoEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Guarda o total de clientes da listagem paginada por {@code ttl}, para que a navegação entre páginas não
+ * repita o {@code count} a cada requisição. O total é descartado após o commit de cada cadastro, para que uma
+ * listagem concorrente não volte a guardar a contagem anterior; o {@code ttl} limita o desvio
+ * causado por alterações feitas fora desta instância. Com {@code ttl} zero, o total é sempre contado.
+ */
+@Component
+public class ClienteContagemCache {
+
+    private static final String TOTAL = "total";
+
+    private final Cache<String, Long> contagem;
+
+    public ClienteContagemCache(MeterRegistry meterRegistry,
+                                @Value("${api.clientes.contagem.ttl:PT5S}") Duration ttl) {
+        this.contagem = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, contagem, "clientes.contagem");
+    }
+
+    public long total(LongSupplier contar) {
+        return contagem.get(TOTAL, k -> contar.getAsLong());
+    }
+
+    public void invalidar() {
+        contagem.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClienteCriado(ClienteCriadoEvent event) {
+        invalidar();
+    }
+}
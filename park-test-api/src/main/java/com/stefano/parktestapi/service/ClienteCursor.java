@@ -0,0 +1,31 @@
+package com.stefano.parktestapi.service;
+
+import com.stefano.parktestapi.exception.CursorInvalidException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de uma listagem de clientes por keyset: o último par {@code (nome, id)} devolvido.
+ * <p>
+ * Trafega como texto opaco em Base64 URL-safe; o id vem antes do nome para que o nome possa conter qualquer caractere.
+ */
+public record ClienteCursor(String nome, Long id) {
+
+    private static final char SEPARADOR = ':';
+
+    public String codificar() {
+        String valor = id + String.valueOf(SEPARADOR) + nome;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ClienteCursor decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            return new ClienteCursor(valor.substring(separador + 1), Long.parseLong(valor.substring(0, separador)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new CursorInvalidException(String.format("Cursor '%s' inválido.", cursor));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.stefano.parktestapi.service;
+
+import com.stefano.parktestapi.entity.Cliente;
+import com.stefano.parktestapi.repository.ClienteRepository;
+import com.stefano.parktestapi.repository.projection.ClienteProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Preenche {@code nome_busca} dos clientes cadastrados antes da coluna existir.
+ * <p>
+ * Novos cadastros já gravam a coluna pelo {@code @PrePersist}; aqui as linhas pendentes são atualizadas na
+ * inicialização, em transações de {@code api.clientes.busca.lote} clientes, sem alterar os campos de auditoria.
+ */
+@Slf4j
+@Component
+public class ClienteNomeBuscaCarga {
+
+    private final ClienteRepository clienteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+
+    public ClienteNomeBuscaCarga(ClienteRepository clienteRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${api.clientes.busca.lote:500}") int tamanhoLote) {
+        this.clienteRepository = clienteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preencher() {
+        int total = 0;
+        int atualizados;
+        do {
+            atualizados = transactionTemplate.execute(status -> preencherLote());
+            total += atualizados;
+        } while (atualizados == tamanhoLote);
+        if (total > 0) {
+            log.info("nome_busca preenchido para {} clientes", total);
+        }
+    }
+
+    private int preencherLote() {
+        List<ClienteProjection> pendentes = clienteRepository.findSemNomeBusca(Limit.of(tamanhoLote));
+        pendentes.forEach(c -> clienteRepository.atualizarNomeBusca(c.getId(), Cliente.normalizarBusca(c.getNome())));
+        return pendentes.size();
+    }
+}
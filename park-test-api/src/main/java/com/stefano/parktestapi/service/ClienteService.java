@@ -5,40 +5,125 @@ import com.stefano.parktestapi.exception.CpfUniqueViolationException;
 import com.stefano.parktestapi.exception.EntityNotFoundException;
 import com.stefano.parktestapi.repository.ClienteRepository;
 import com.stefano.parktestapi.repository.projection.ClienteProjection;
+import com.stefano.parktestapi.service.event.ClienteCriadoEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
 @Service
 @RequiredArgsConstructor
 public class ClienteService {
 
+    private static final Pattern CPF_PARCIAL = Pattern.compile("[\\d.\\-\\s]+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("\\D");
+    private static final int TERMO_MAXIMO = 100;
+
     private final ClienteRepository clienteRepository;
+    private final ClienteContagemCache clienteContagemCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Cliente salvar(Cliente cliente) {
         try {
-            return clienteRepository.save(cliente);
+            Cliente salvo = clienteRepository.save(cliente);
+            eventPublisher.publishEvent(new ClienteCriadoEvent(salvo.getId()));
+            return salvo;
         } catch (DataIntegrityViolationException ex) {
             throw new CpfUniqueViolationException(String.format("Cpf %s já cadastrado.", cliente.getCpf()));
         }
     }
 
+    /**
+     * Lê apenas id, nome e CPF do cliente, sem carregar a entidade nem o usuário associado.
+     */
     @Transactional(readOnly = true)
-    public Cliente buscarPorId(Long id) {
-        return clienteRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(String.format("Cliente id: %s não encontrado.", id)));
+    public ClienteProjection buscarPorId(Long id) {
+        return clienteRepository.findProjectionById(id).orElseThrow(() -> new EntityNotFoundException(String.format("Cliente id: %s não encontrado.", id)));
     }
 
+    /**
+     * Página com totais. O total vem do {@link ClienteContagemCache} e só é contado quando não pode ser
+     * deduzido da própria página, como na primeira página incompleta ou na última.
+     */
     @Transactional(readOnly = true)
     public Page<ClienteProjection> buscarTodos(Pageable pageable) {
-        return clienteRepository.findAllPegeable(pageable);
+        Slice<ClienteProjection> pagina = clienteRepository.findAllSlice(pageable);
+        return PageableExecutionUtils.getPage(pagina.getContent(), pageable, () -> clienteContagemCache.total(clienteRepository::count));
+    }
+
+    /**
+     * Página sem totais: busca {@code size + 1} registros para saber se existe uma próxima página, sem {@code count}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<ClienteProjection> buscarTodosSemTotal(Pageable pageable) {
+        return clienteRepository.findAllSlice(pageable);
+    }
+
+    /**
+     * Lista os clientes em ordem de {@code (nome, id)} a partir de {@code after} (exclusivo), pelo índice
+     * {@code idx_clientes_nome_id}: o custo não depende da posição na listagem, ao contrário do offset.
+     */
+    @Transactional(readOnly = true)
+    public List<ClienteProjection> buscarTodos(ClienteCursor after, int limite) {
+        if (after == null) {
+            return clienteRepository.findPrimeirosPorNome(Limit.of(limite));
+        }
+        return clienteRepository.findPorNomeDepoisDe(after.nome(), after.id(), Limit.of(limite));
+    }
+
+    /**
+     * Busca por prefixo: termos só com dígitos (e a pontuação do CPF) buscam pelo início do CPF; os demais, pelo
+     * início do nome sem acentos e sem diferença de maiúsculas. As duas buscas são faixas de índice, sem varrer a tabela.
+     * Termos maiores que a coluna de nome não têm resultado e nem são analisados.
+     */
+    @Transactional(readOnly = true)
+    public List<ClienteProjection> buscar(String termo, int limite) {
+        if (termo.length() > TERMO_MAXIMO) {
+            return List.of();
+        }
+        if (CPF_PARCIAL.matcher(termo).matches()) {
+            String digitos = NAO_DIGITOS.matcher(termo).replaceAll("");
+            if (!digitos.isEmpty()) {
+                return clienteRepository.findByCpfStartingWithOrderByCpfAsc(digitos, Limit.of(limite));
+            }
+        }
+        String prefixo = Cliente.normalizarBusca(termo);
+        if (prefixo.isEmpty()) {
+            return List.of();
+        }
+        return clienteRepository.findByNomeBuscaPrefixo(prefixo, Limit.of(limite));
+    }
+
+    /**
+     * Entrega todos os clientes a {@code destino}, em ordem de id, lendo-os do cursor do banco: a memória usada não
+     * depende do tamanho da tabela, e as linhas não passam pelo contexto de persistência.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(Consumer<ClienteProjection> destino) {
+        try (Stream<ClienteProjection> clientes = clienteRepository.streamExportacao()) {
+            clientes.forEach(destino);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ClienteProjection buscarPorUsuarioId(Long id) {
+        return clienteRepository.findProjectionByUsuarioId(id).orElseThrow(() -> new EntityNotFoundException(String.format("Cliente do usuário id: %s não encontrado.", id)));
     }
 
     @Transactional(readOnly = true)
-    public Cliente buscarPorUsuarioId(Long id) {
-        return clienteRepository.findByUsuarioId(id);
+    public Cliente buscarPorCpf(String cpf) {
+        return clienteRepository.findByCpf(cpf).orElseThrow(() -> new EntityNotFoundException(String.format("Cliente com CPF '%s' não encontrado.", cpf)));
     }
 }
@@ -0,0 +1,71 @@
+package com.stefano.parktestapi.service;
+
+import com.stefano.parktestapi.entity.Cliente;
+import com.stefano.parktestapi.entity.ClienteVaga;
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.exception.EntityNotFoundException;
+import com.stefano.parktestapi.repository.ClienteVagaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+@Service
+public class EstacionamentoService {
+
+    private static final DateTimeFormatter FORMATO_RECIBO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS");
+
+    private final ClienteVagaRepository clienteVagaRepository;
+    private final ClienteService clienteService;
+    private final VagaService vagaService;
+    private final AuditorAware<String> auditorAware;
+
+    /**
+     * Abre um ticket na vaga reservada pelo usuário do cliente ou, sem reserva, em uma vaga livre. A vaga livre é obtida por
+     * {@link VagaService#alocar(PreferenciaAlocacao)}, que confirma a escolha com um update condicional em vez de
+     * bloquear a linha, então check-ins concorrentes, mesmo em nós diferentes, não esperam uns pelos outros.
+     */
+    @Transactional
+    public ClienteVaga checkIn(ClienteVaga clienteVaga, String cpf, String vagaReservada) {
+        Cliente cliente = clienteService.buscarPorCpf(cpf);
+        Vaga vaga = vagaReservada != null ? vagaService.ocuparReserva(vagaReservada, cliente.getUsuario().getId()) : vagaService.alocar(PreferenciaAlocacao.QUALQUER);
+        LocalDateTime dataEntrada = LocalDateTime.now();
+
+        clienteVaga.setCliente(cliente);
+        clienteVaga.setVaga(vaga);
+        clienteVaga.setDataEntrada(dataEntrada);
+        clienteVaga.setRecibo(dataEntrada.format(FORMATO_RECIBO) + "-" + vaga.getCodigo());
+        return clienteVagaRepository.save(clienteVaga);
+    }
+
+    /**
+     * Fecha o ticket e libera a vaga. Um segundo check-out do mesmo recibo, concorrente ou não,
+     * não encontra o ticket aberto e falha.
+     */
+    @Transactional
+    public ClienteVaga checkOut(String recibo) {
+        if (clienteVagaRepository.registrarSaida(recibo, LocalDateTime.now(), usuarioAtual()) == 0) {
+            throw new EntityNotFoundException(String.format("Recibo '%s' não encontrado ou check-out já realizado.", recibo));
+        }
+        ClienteVaga clienteVaga = buscarPorRecibo(recibo);
+        vagaService.liberar(clienteVaga.getVaga());
+        return clienteVaga;
+    }
+
+    @Transactional(readOnly = true)
+    public ClienteVaga buscarPorRecibo(String recibo) {
+        return clienteVagaRepository.findByRecibo(recibo).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Recibo '%s' não encontrado.", recibo))
+        );
+    }
+
+    private String usuarioAtual() {
+        Optional<String> auditor = auditorAware.getCurrentAuditor();
+        return auditor != null ? auditor.orElse(null) : null;
+    }
+}
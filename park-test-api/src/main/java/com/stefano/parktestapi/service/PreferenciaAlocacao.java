@@ -0,0 +1,31 @@
+package com.stefano.parktestapi.service;
+
+import com.stefano.parktestapi.entity.Vaga;
+
+/**
+ * Restrições e critério de escolha de uma vaga livre. Campos {@code null} não restringem a escolha.
+ *
+ * @param zona     código da zona onde a vaga deve estar
+ * @param nivel    nível onde a vaga deve estar
+ * @param criterio ordem de preferência entre as vagas aceitas
+ * @param tipo     tipo de vaga exigido
+ */
+public record PreferenciaAlocacao(String zona, Integer nivel, Criterio criterio, Vaga.TipoVaga tipo) {
+
+    public static final PreferenciaAlocacao QUALQUER = new PreferenciaAlocacao(null, null, Criterio.QUALQUER, null);
+
+    public PreferenciaAlocacao {
+        if (criterio == null) {
+            criterio = Criterio.QUALQUER;
+        }
+    }
+
+    public enum Criterio {
+        /** Qualquer vaga livre, escolhida de forma a espalhar alocações concorrentes. */
+        QUALQUER,
+        /** A vaga livre de menor código. */
+        MENOR_CODIGO,
+        /** A vaga livre de menor distância até a entrada; vagas sem distância ficam por último. */
+        MAIS_PROXIMA
+    }
+}
@@ -0,0 +1,98 @@
+package com.stefano.parktestapi.service;
+
+import com.stefano.parktestapi.entity.RefreshToken;
+import com.stefano.parktestapi.entity.Usuario;
+import com.stefano.parktestapi.exception.RefreshTokenInvalidException;
+import com.stefano.parktestapi.repository.RefreshTokenRepository;
+import com.stefano.parktestapi.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Refresh tokens opacos e de uso único: o valor aleatório só é entregue ao cliente e o banco guarda
+ * apenas o seu SHA-256. Cada renovação consome o token apresentado e emite um novo.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final Duration validade;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UsuarioRepository usuarioRepository,
+                               @Value("${api.security.jwt.refresh-expire-days:30}") long validadeDias) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.validade = Duration.ofDays(validadeDias);
+    }
+
+    @Transactional
+    public String criar(Long usuarioId) {
+        return criar(usuarioRepository.getReferenceById(usuarioId));
+    }
+
+    @Transactional
+    public Renovacao renovar(String token) {
+        RefreshToken atual = refreshTokenRepository.findByTokenHash(hash(token))
+                .filter(r -> r.getDataExpiracao().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new RefreshTokenInvalidException("Refresh token inválido ou expirado."));
+
+        // a remoção condicional garante que duas renovações simultâneas não aproveitem o mesmo token
+        if (refreshTokenRepository.removerPorId(atual.getId()) == 0) {
+            throw new RefreshTokenInvalidException("Refresh token inválido ou expirado.");
+        }
+        return new Renovacao(atual.getUsuario(), criar(atual.getUsuario()));
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.jwt.refresh-purge-interval:PT1H}")
+    @Transactional
+    public void removerExpirados() {
+        int removidos = refreshTokenRepository.removerExpirados(LocalDateTime.now());
+        if (removidos > 0) {
+            log.info("{} refresh tokens expirados removidos", removidos);
+        }
+    }
+
+    private String criar(Usuario usuario) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime agora = LocalDateTime.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUsuario(usuario);
+        refreshToken.setDataCriacao(agora);
+        refreshToken.setDataExpiracao(agora.plus(validade));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    }
+
+    public record Renovacao(Usuario usuario, String refreshToken) {
+    }
+}
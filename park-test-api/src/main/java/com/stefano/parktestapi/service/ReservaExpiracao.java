@@ -0,0 +1,100 @@
+package com.stefano.parktestapi.service;
+
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.repository.VagaRepository;
+import com.stefano.parktestapi.repository.projection.VagaReservaProjection;
+import com.stefano.parktestapi.service.event.VagaStatusAlteradoEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Expiração das reservas de vaga.
+ * <p>
+ * Os prazos ficam em uma {@link TimingWheel} em memória, em vez de uma varredura periódica de
+ * {@code vagas} por reservas vencidas: a cada tick só as reservas daquele tick são tocadas, e elas são
+ * liberadas em lotes de {@code api.vagas.reserva.lote} com um único update. Uma reserva usada em um
+ * check-in continua na roda; ao vencer, o update não a encontra mais reservada e nada acontece.
+ * Na inicialização a roda é reconstruída a partir das vagas reservadas no banco.
+ */
+@Slf4j
+@Component
+public class ReservaExpiracao {
+
+    private final VagaRepository vagaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final long tick;
+    private final int tamanhoLote;
+    private final TimingWheel<Long> roda;
+
+    public ReservaExpiracao(VagaRepository vagaRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${api.vagas.reserva.tick:PT1S}") Duration tick,
+                            @Value("${api.vagas.reserva.lote:500}") int tamanhoLote) {
+        this.vagaRepository = vagaRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tick = tick.toMillis();
+        this.tamanhoLote = tamanhoLote;
+        this.roda = new TimingWheel<>(System.currentTimeMillis() / this.tick);
+    }
+
+    /**
+     * Agenda a liberação da vaga para o primeiro tick em ou após {@code ate}.
+     */
+    public void agendar(Long id, LocalDateTime ate) {
+        long millis = ate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        roda.agendar(id, (millis + tick - 1) / tick);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recarregar() {
+        List<VagaReservaProjection> reservas = vagaRepository.findReservas();
+        reservas.forEach(reserva -> agendar(reserva.getId(), reserva.getReservadaAte()));
+        log.debug("{} reservas de vaga agendadas para expiração", reservas.size());
+    }
+
+    @Scheduled(fixedRateString = "${api.vagas.reserva.tick:PT1S}")
+    public void expirar() {
+        long agora = System.currentTimeMillis() / tick;
+        List<Long> vencidas = roda.avancar(agora);
+        for (int i = 0; i < vencidas.size(); i += tamanhoLote) {
+            List<Long> lote = vencidas.subList(i, Math.min(i + tamanhoLote, vencidas.size()));
+            try {
+                liberar(lote);
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao liberar {} reservas vencidas, nova tentativa no próximo tick: {}", lote.size(), ex.getMessage());
+                lote.forEach(id -> roda.agendar(id, agora + 1));
+            }
+        }
+    }
+
+    private void liberar(List<Long> ids) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            LocalDateTime agora = LocalDateTime.now();
+            List<Vaga> vencidas = vagaRepository.findReservasVencidas(ids, agora);
+            if (vencidas.isEmpty()) {
+                return;
+            }
+            vagaRepository.liberarReservas(vencidas.stream().map(Vaga::getId).toList(), agora);
+            for (Vaga vaga : vencidas) {
+                eventPublisher.publishEvent(new VagaStatusAlteradoEvent(vaga.getId(), vaga.getCodigo(), vaga.getZonaId(),
+                        Vaga.StatusVaga.RESERVADA, Vaga.StatusVaga.LIVRE));
+            }
+            log.debug("{} reservas de vaga expiradas", vencidas.size());
+        });
+    }
+}
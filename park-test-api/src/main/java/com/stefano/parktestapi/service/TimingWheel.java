@@ -0,0 +1,111 @@
+package com.stefano.parktestapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Roda de tempo hierárquica: 4 níveis de 64 posições, cobrindo 64^4 ticks (cerca de 194 dias com tick de 1s).
+ * <p>
+ * Agendar é O(1): o item vai para a posição do nível cuja granularidade comporta o prazo. A cada tick só a
+ * posição corrente do nível 0 é esvaziada; quando um nível completa uma volta, a posição seguinte do nível de
+ * cima desce para os níveis de baixo. Cada item desce no máximo 3 vezes, então o custo por tick não depende de
+ * quantos itens estão agendados. Itens não são cancelados: quem consome o vencimento deve confirmar que ele
+ * ainda vale.
+ *
+ * @param <T> item agendado
+ */
+public class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int POSICOES = 1 << BITS;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NIVEIS = 4;
+
+    private final Queue<Entrada<T>>[][] posicoes;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long atual;
+
+    /**
+     * @param inicio primeiro tick a ser processado
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long inicio) {
+        this.atual = inicio;
+        this.posicoes = new Queue[NIVEIS][POSICOES];
+        for (Queue<Entrada<T>>[] nivel : posicoes) {
+            for (int i = 0; i < POSICOES; i++) {
+                nivel[i] = new ConcurrentLinkedQueue<>();
+            }
+        }
+    }
+
+    /**
+     * Agenda o item para o tick {@code prazo}. Prazos já passados vencem no próximo tick processado.
+     * Pode ser chamado por várias threads ao mesmo tempo.
+     */
+    public void agendar(T item, long prazo) {
+        lock.readLock().lock();
+        try {
+            inserir(new Entrada<>(item, prazo));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Processa os ticks até {@code ate}, inclusive, e devolve os itens vencidos. Deve ser chamado por uma única thread.
+     */
+    public List<T> avancar(long ate) {
+        List<T> vencidos = new ArrayList<>();
+        while (atual <= ate) {
+            Queue<Entrada<T>> posicao;
+            lock.writeLock().lock();
+            try {
+                for (int nivel = NIVEIS - 1; nivel > 0; nivel--) {
+                    if ((atual & ((1L << (BITS * nivel)) - 1)) == 0) {
+                        for (Entrada<T> entrada : esvaziar(nivel, (int) ((atual >>> (BITS * nivel)) & MASCARA))) {
+                            inserir(entrada);
+                        }
+                    }
+                }
+                posicao = esvaziar(0, (int) (atual & MASCARA));
+                atual++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            for (Entrada<T> entrada : posicao) {
+                vencidos.add(entrada.item());
+            }
+        }
+        return vencidos;
+    }
+
+    /**
+     * Usa a primeira camada em que o bloco do prazo está a menos de uma volta do bloco atual; prazos além da
+     * última camada ficam na sua última posição e são reposicionados quando ela desce.
+     */
+    private void inserir(Entrada<T> entrada) {
+        long prazo = Math.max(entrada.prazo(), atual);
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            long bloco = prazo >>> (BITS * nivel);
+            if (bloco - (atual >>> (BITS * nivel)) < POSICOES) {
+                posicoes[nivel][(int) (bloco & MASCARA)].add(entrada);
+                return;
+            }
+        }
+        long ultimo = (atual >>> (BITS * (NIVEIS - 1))) + POSICOES - 1;
+        posicoes[NIVEIS - 1][(int) (ultimo & MASCARA)].add(entrada);
+    }
+
+    private Queue<Entrada<T>> esvaziar(int nivel, int indice) {
+        Queue<Entrada<T>> posicao = posicoes[nivel][indice];
+        posicoes[nivel][indice] = new ConcurrentLinkedQueue<>();
+        return posicao;
+    }
+
+    private record Entrada<T>(T item, long prazo) {
+    }
+}
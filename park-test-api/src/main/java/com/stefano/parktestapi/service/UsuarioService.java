@@ -4,8 +4,11 @@ import com.stefano.parktestapi.entity.Usuario;
 import com.stefano.parktestapi.exception.EntityNotFoundException;
 import com.stefano.parktestapi.exception.PasswordInvalidException;
 import com.stefano.parktestapi.exception.UsernameUniqueViolationException;
+import com.stefano.parktestapi.repository.RefreshTokenRepository;
 import com.stefano.parktestapi.repository.UsuarioRepository;
+import com.stefano.parktestapi.service.event.UsuarioAlteradoEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,14 +20,18 @@ import java.util.List;
 public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Transactional
     public Usuario salvar(Usuario usuario) {
         try {
             usuario.setPassword(passwordEncoder.encode(usuario.getPassword()));
-            return usuarioRepository.save(usuario);
+            Usuario salvo = usuarioRepository.save(usuario);
+            eventPublisher.publishEvent(new UsuarioAlteradoEvent(salvo.getId(), salvo.getUsername()));
+            return salvo;
         } catch (org.springframework.dao.DataIntegrityViolationException ex) {
             throw new UsernameUniqueViolationException(String.format("Username '%s' já cadastrado", usuario.getUsername()));
         }
@@ -48,6 +55,27 @@ public class UsuarioService {
         }
 
         user.setPassword(passwordEncoder.encode(novaSenha));
+        usuarioRepository.incrementarTokenEpoch(id);
+        refreshTokenRepository.removerPorUsuarioId(id);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(user.getId(), user.getUsername()));
+        return user;
+    }
+
+    /**
+     * Invalida todos os tokens já emitidos para o usuário (logout em todos os dispositivos).
+     */
+    @Transactional
+    public void revogarTokens(Long id, String username) {
+        usuarioRepository.incrementarTokenEpoch(id);
+        refreshTokenRepository.removerPorUsuarioId(id);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(id, username));
+    }
+
+    @Transactional
+    public Usuario atualizarSenhaCodificada(String username, String senhaCodificada) {
+        Usuario user = buscarPorUsername(username);
+        user.setPassword(senhaCodificada);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(user.getId(), user.getUsername()));
         return user;
     }
 
@@ -61,9 +89,4 @@ public class UsuarioService {
         return usuarioRepository.findByUsername(username).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Usuário: %s não encontrado.", username)));
     }
-
-    @Transactional(readOnly = true)
-    public Usuario.Role buscarRolePorUsername(String username) {
-        return usuarioRepository.findRoleByUsername(username);
-    }
 }
@@ -0,0 +1,164 @@
+package com.stefano.parktestapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.service.event.VagaStatusAlteradoEvent;
+import com.stefano.parktestapi.service.event.VagasCriadasEmLoteEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache read-through das vagas por código.
+ * <p>
+ * Os códigos têm 4 caracteres, então a chave é o código empacotado em um {@code int}, sem hash nem comparação de
+ * {@code String}. O mapa é um Caffeine com chave {@code Integer}, não um mapa de primitivos: a caixa de cada
+ * consulta custa uma alocação curta, em troca de limite de tamanho, expiração por entrada e métricas. As entradas
+ * são atualizadas após o commit de cada cadastro e mudança de status, então uma vaga existente é servida sem acessar
+ * o banco; códigos inexistentes também são guardados, por {@code ausente-ttl}. O {@code ttl} das demais entradas só
+ * limita o desvio causado por alterações feitas fora desta instância.
+ */
+@Component
+public class VagaCodigoCache {
+
+    private static final int SEM_CHAVE = 0;
+    private static final Entrada AUSENTE = new Entrada(null, null, null, null, null, null);
+
+    private final Cache<Integer, Entrada> vagas;
+
+    public VagaCodigoCache(MeterRegistry meterRegistry,
+                           @Value("${api.vagas.cache.maximum-size:200000}") long maximumSize,
+                           @Value("${api.vagas.cache.ttl:PT5M}") Duration ttl,
+                           @Value("${api.vagas.cache.ausente-ttl:PT5S}") Duration ausenteTtl) {
+        this.vagas = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpiraPorTipo(ttl.toNanos(), ausenteTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, vagas, "vagas.codigo");
+    }
+
+    /**
+     * Devolve a vaga do cache ou, se ela não estiver lá, de {@code carregar}, guardando o resultado. A vaga
+     * devolvida é uma cópia desanexada com os dados de exibição: id, código, status, tipo, distância e prazo da
+     * reserva.
+     */
+    public Optional<Vaga> buscar(String codigo, Function<String, Optional<Vaga>> carregar) {
+        int chave = chave(codigo);
+        if (chave == SEM_CHAVE) {
+            return carregar.apply(codigo);
+        }
+        Entrada entrada = vagas.get(chave, k -> carregar.apply(codigo).map(Entrada::de).orElse(AUSENTE));
+        return entrada == AUSENTE ? Optional.empty() : Optional.of(entrada.toVaga());
+    }
+
+    /**
+     * Descarta todas as entradas, como depois de alterações feitas direto no banco.
+     */
+    public void invalidar() {
+        vagas.invalidateAll();
+    }
+
+    /**
+     * Uma vaga nova ou reservada é descartada e relida na próxima consulta, já que o evento não traz todos os
+     * seus dados; nas demais mudanças só o status é trocado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVagaStatusAlterado(VagaStatusAlteradoEvent event) {
+        int chave = chave(event.codigo());
+        if (chave == SEM_CHAVE) {
+            return;
+        }
+        if (event.anterior() == null || event.atual() == Vaga.StatusVaga.RESERVADA) {
+            vagas.invalidate(chave);
+        } else {
+            vagas.asMap().computeIfPresent(chave, (k, entrada) -> entrada == AUSENTE ? null : entrada.comStatus(event.atual()));
+        }
+    }
+
+    /**
+     * O cadastro em lote não informa os códigos criados, então todas as ausências guardadas são descartadas.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVagasCriadasEmLote(VagasCriadasEmLoteEvent event) {
+        vagas.asMap().values().removeIf(entrada -> entrada == AUSENTE);
+    }
+
+    /**
+     * Empacota um código de 4 caracteres Latin-1 em um {@code int}, ou devolve {@link #SEM_CHAVE} para
+     * códigos que não cabem, que então não são guardados.
+     */
+    static int chave(String codigo) {
+        if (codigo == null || codigo.length() != 4) {
+            return SEM_CHAVE;
+        }
+        int chave = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = codigo.charAt(i);
+            if (c == 0 || c > 0xFF) {
+                return SEM_CHAVE;
+            }
+            chave = (chave << 8) | c;
+        }
+        return chave;
+    }
+
+    private record Entrada(Long id, String codigo, Vaga.StatusVaga status, Vaga.TipoVaga tipo, Integer distancia,
+                           LocalDateTime reservadaAte) {
+
+        private static Entrada de(Vaga vaga) {
+            return new Entrada(vaga.getId(), vaga.getCodigo(), vaga.getStatusVaga(), vaga.getTipo(), vaga.getDistancia(),
+                    vaga.getReservadaAte());
+        }
+
+        private Entrada comStatus(Vaga.StatusVaga novo) {
+            return new Entrada(id, codigo, novo, tipo, distancia, null);
+        }
+
+        private Vaga toVaga() {
+            Vaga vaga = new Vaga();
+            vaga.setId(id);
+            vaga.setCodigo(codigo);
+            vaga.setStatusVaga(status);
+            vaga.setTipo(tipo);
+            vaga.setDistancia(distancia);
+            vaga.setReservadaAte(reservadaAte);
+            return vaga;
+        }
+    }
+
+    private static class ExpiraPorTipo implements Expiry<Integer, Entrada> {
+
+        private final long ttl;
+        private final long ausenteTtl;
+
+        private ExpiraPorTipo(long ttl, long ausenteTtl) {
+            this.ttl = ttl;
+            this.ausenteTtl = ausenteTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(Integer key, Entrada entrada, long currentTime) {
+            return entrada == AUSENTE ? ausenteTtl : ttl;
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer key, Entrada entrada, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entrada, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Integer key, Entrada entrada, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.stefano.parktestapi.service;
+
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.repository.VagaRepository;
+import com.stefano.parktestapi.repository.projection.VagaZonaStatusProjection;
+import com.stefano.parktestapi.service.event.VagaStatusAlteradoEvent;
+import com.stefano.parktestapi.service.event.VagasCriadasEmLoteEvent;
+import com.stefano.parktestapi.service.event.ZonaCriadaEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice em memória das vagas livres, particionado por zona, usado para escolher uma vaga sem disputar linhas no banco.
+ * <p>
+ * Cada vaga ocupa um bit no bitmap da sua zona, e tomar uma vaga é limpar o bit com CAS, sem lock global. Para
+ * escolhas por preferência, as vagas livres de cada zona e tipo também ficam em skip lists ordenadas por distância
+ * e por código, então a vaga livre mais próxima ou de menor código sai em O(log n). As skip lists só indicam o
+ * candidato: quem o toma em memória é o CAS no bitmap.
+ * <p>
+ * O índice é apenas uma dica: quem decide é o update condicional no banco, então uma entrada desatualizada (outro nó,
+ * massa de teste) custa no máximo uma tentativa extra. O índice é reconstruído do banco periodicamente e quando uma
+ * vaga desconhecida aparece. Uma busca sem vaga livre não recarrega: as vagas liberadas neste nó voltam pelos eventos
+ * de commit e rollback, e as liberadas por outro nó, na próxima reconciliação.
+ */
+@Slf4j
+@Component
+public class VagaLivreIndex {
+
+    private static final Long SEM_ZONA = 0L;
+
+    private final VagaRepository vagaRepository;
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    private volatile Map<Long, Particao> zonas = Map.of();
+    private volatile Particao[] todas = new Particao[0];
+    private volatile boolean desatualizado = true;
+    private volatile long recargas;
+
+    public VagaLivreIndex(VagaRepository vagaRepository) {
+        this.vagaRepository = vagaRepository;
+    }
+
+    /**
+     * Toma uma vaga livre em memória e devolve seu id, ou {@code null} se não houver nenhuma que atenda.
+     * A escolha ainda precisa ser confirmada no banco.
+     *
+     * @param zonaIds  zonas aceitas, ou {@code null} para qualquer zona
+     * @param criterio ordem de preferência entre as vagas aceitas
+     * @param tipo     tipo exigido, ou {@code null} para qualquer tipo
+     */
+    public Long reservar(Collection<Long> zonaIds, PreferenciaAlocacao.Criterio criterio, Vaga.TipoVaga tipo) {
+        if (desatualizado) {
+            recarregar();
+        }
+        return reservarEm(particoes(zonaIds), criterio, tipo);
+    }
+
+    public void liberar(Long zonaId, Long id) {
+        Particao particao = zonas.get(chave(zonaId));
+        if (particao == null || !particao.liberar(id)) {
+            desatualizado = true;
+        }
+    }
+
+    public void ocupar(Long zonaId, Long id) {
+        Particao particao = zonas.get(chave(zonaId));
+        if (particao != null) {
+            particao.ocupar(id);
+        }
+    }
+
+    public int livres() {
+        int total = 0;
+        for (Particao particao : todas) {
+            total += particao.bitmap.livres();
+        }
+        return total;
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco. Chamadas concorrentes aguardam a recarga em andamento.
+     */
+    public void recarregar() {
+        long vista = recargas;
+        recarga.lock();
+        try {
+            if (recargas != vista) {
+                return;
+            }
+            desatualizado = false;
+            Map<Long, List<VagaZonaStatusProjection>> porZona = new HashMap<>();
+            for (VagaZonaStatusProjection vaga : vagaRepository.findAllZonaStatus()) {
+                porZona.computeIfAbsent(chave(vaga.getZonaId()), k -> new ArrayList<>()).add(vaga);
+            }
+            Map<Long, Particao> novas = new HashMap<>();
+            porZona.forEach((zonaId, vagas) -> novas.put(zonaId, Particao.de(vagas)));
+            zonas = novas;
+            todas = novas.values().toArray(new Particao[0]);
+            recargas = vista + 1;
+            log.debug("Índice de vagas livres recarregado: {} zonas, {} livres", novas.size(), livres());
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.vagas.alocacao.reconciliacao:PT5M}",
+            initialDelayString = "${api.vagas.alocacao.reconciliacao:PT5M}")
+    public void reconciliar() {
+        recarregar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVagaStatusAlterado(VagaStatusAlteradoEvent event) {
+        if (event.atual() == Vaga.StatusVaga.LIVRE) {
+            liberar(event.zonaId(), event.id());
+        } else {
+            ocupar(event.zonaId(), event.id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVagasCriadasEmLote(VagasCriadasEmLoteEvent event) {
+        desatualizado = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZonaCriada(ZonaCriadaEvent event) {
+        desatualizado = true;
+    }
+
+    /**
+     * Devolve ao índice a vaga tomada por uma transação que não chegou ao commit.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onVagaStatusRevertido(VagaStatusAlteradoEvent event) {
+        if (event.anterior() == Vaga.StatusVaga.LIVRE) {
+            liberar(event.zonaId(), event.id());
+        }
+    }
+
+    private Particao[] particoes(Collection<Long> zonaIds) {
+        if (zonaIds == null) {
+            return todas;
+        }
+        Map<Long, Particao> atuais = zonas;
+        return zonaIds.stream().map(atuais::get).filter(p -> p != null).toArray(Particao[]::new);
+    }
+
+    private static Long reservarEm(Particao[] particoes, PreferenciaAlocacao.Criterio criterio, Vaga.TipoVaga tipo) {
+        if (particoes.length == 0) {
+            return null;
+        }
+        if (criterio == PreferenciaAlocacao.Criterio.QUALQUER && tipo == null) {
+            return reservarQualquer(particoes);
+        }
+        Comparator<Livre> ordem = criterio == PreferenciaAlocacao.Criterio.MAIS_PROXIMA ? Livre.POR_DISTANCIA : Livre.POR_CODIGO;
+        while (true) {
+            Particao escolhida = null;
+            Livre melhor = null;
+            for (Particao particao : particoes) {
+                Livre candidata = particao.primeira(criterio, tipo);
+                if (candidata != null && (melhor == null || ordem.compare(candidata, melhor) < 0)) {
+                    escolhida = particao;
+                    melhor = candidata;
+                }
+            }
+            if (melhor == null) {
+                return null;
+            }
+            if (escolhida.tomar(melhor)) {
+                return melhor.id();
+            }
+        }
+    }
+
+    /**
+     * Começa em uma zona aleatória para espalhar alocações concorrentes sem restrição de zona.
+     */
+    private static Long reservarQualquer(Particao[] particoes) {
+        int inicio = ThreadLocalRandom.current().nextInt(particoes.length);
+        for (int n = 0; n < particoes.length; n++) {
+            Long id = particoes[(inicio + n) % particoes.length].reservarQualquer();
+            if (id != null) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    private static Long chave(Long zonaId) {
+        return zonaId != null ? zonaId : SEM_ZONA;
+    }
+
+    private record Livre(long id, String codigo, int distancia, Vaga.TipoVaga tipo) {
+
+        private static final Comparator<Livre> POR_CODIGO = Comparator.comparing(Livre::codigo).thenComparingLong(Livre::id);
+        private static final Comparator<Livre> POR_DISTANCIA = Comparator.comparingInt(Livre::distancia).thenComparing(POR_CODIGO);
+
+        private static Livre de(VagaZonaStatusProjection vaga) {
+            return new Livre(vaga.getId(), vaga.getCodigo(),
+                    vaga.getDistancia() != null ? vaga.getDistancia() : Integer.MAX_VALUE,
+                    vaga.getTipo() != null ? vaga.getTipo() : Vaga.TipoVaga.COMUM);
+        }
+    }
+
+    /**
+     * Vagas livres de um tipo em uma zona, nas duas ordens de preferência.
+     */
+    private record Ordens(NavigableSet<Livre> porCodigo, NavigableSet<Livre> porDistancia) {
+
+        private Ordens() {
+            this(new ConcurrentSkipListSet<>(Livre.POR_CODIGO), new ConcurrentSkipListSet<>(Livre.POR_DISTANCIA));
+        }
+
+        private void adicionar(Livre vaga) {
+            porCodigo.add(vaga);
+            porDistancia.add(vaga);
+        }
+
+        private void remover(Livre vaga) {
+            porCodigo.remove(vaga);
+            porDistancia.remove(vaga);
+        }
+
+        private Livre primeira(PreferenciaAlocacao.Criterio criterio) {
+            Iterator<Livre> it = (criterio == PreferenciaAlocacao.Criterio.MAIS_PROXIMA ? porDistancia : porCodigo).iterator();
+            return it.hasNext() ? it.next() : null;
+        }
+    }
+
+    private static final class Particao {
+
+        private final Bitmap bitmap;
+        private final Map<Long, Livre> vagas;
+        private final Map<Vaga.TipoVaga, Ordens> ordens;
+
+        private Particao(Bitmap bitmap, Map<Long, Livre> vagas, Map<Vaga.TipoVaga, Ordens> ordens) {
+            this.bitmap = bitmap;
+            this.vagas = vagas;
+            this.ordens = ordens;
+        }
+
+        private static Particao de(List<VagaZonaStatusProjection> projecoes) {
+            Map<Long, Livre> vagas = new HashMap<>(projecoes.size() * 2);
+            Map<Vaga.TipoVaga, Ordens> ordens = new EnumMap<>(Vaga.TipoVaga.class);
+            for (Vaga.TipoVaga tipo : Vaga.TipoVaga.values()) {
+                ordens.put(tipo, new Ordens());
+            }
+            for (VagaZonaStatusProjection projecao : projecoes) {
+                Livre vaga = Livre.de(projecao);
+                vagas.put(vaga.id(), vaga);
+                if (projecao.getStatus() == Vaga.StatusVaga.LIVRE) {
+                    ordens.get(vaga.tipo()).adicionar(vaga);
+                }
+            }
+            return new Particao(Bitmap.de(projecoes), vagas, ordens);
+        }
+
+        private Long reservarQualquer() {
+            Long id = bitmap.reservar();
+            if (id != null) {
+                Livre vaga = vagas.get(id);
+                ordens.get(vaga.tipo()).remover(vaga);
+            }
+            return id;
+        }
+
+        private Livre primeira(PreferenciaAlocacao.Criterio criterio, Vaga.TipoVaga tipo) {
+            if (tipo != null) {
+                return ordens.get(tipo).primeira(criterio);
+            }
+            Comparator<Livre> ordem = criterio == PreferenciaAlocacao.Criterio.MAIS_PROXIMA ? Livre.POR_DISTANCIA : Livre.POR_CODIGO;
+            Livre melhor = null;
+            for (Ordens porTipo : ordens.values()) {
+                Livre candidata = porTipo.primeira(criterio);
+                if (candidata != null && (melhor == null || ordem.compare(candidata, melhor) < 0)) {
+                    melhor = candidata;
+                }
+            }
+            return melhor;
+        }
+
+        /**
+         * Toma a vaga pelo bit; se outra thread chegou antes, a entrada só estava atrasada e é descartada.
+         */
+        private boolean tomar(Livre vaga) {
+            ordens.get(vaga.tipo()).remover(vaga);
+            return bitmap.alterar(vaga.id(), false) == Boolean.TRUE;
+        }
+
+        /**
+         * Liga o bit antes de publicar a entrada: um {@link #tomar} concorrente que já a veja na skip list
+         * encontra o bit ligado, em vez de descartá-la por um CAS que falhou.
+         */
+        private boolean liberar(Long id) {
+            Livre vaga = vagas.get(id);
+            if (vaga == null) {
+                return false;
+            }
+            bitmap.alterar(id, true);
+            ordens.get(vaga.tipo()).adicionar(vaga);
+            return true;
+        }
+
+        private void ocupar(Long id) {
+            Livre vaga = vagas.get(id);
+            if (vaga != null) {
+                bitmap.alterar(id, false);
+                ordens.get(vaga.tipo()).remover(vaga);
+            }
+        }
+    }
+
+    private static final class Bitmap {
+
+        private final long[] ids;
+        private final AtomicLongArray palavras;
+
+        private Bitmap(long[] ids, AtomicLongArray palavras) {
+            this.ids = ids;
+            this.palavras = palavras;
+        }
+
+        private static Bitmap de(List<VagaZonaStatusProjection> vagas) {
+            long[] ids = vagas.stream().mapToLong(VagaZonaStatusProjection::getId).toArray();
+            Arrays.sort(ids);
+            AtomicLongArray palavras = new AtomicLongArray((ids.length + 63) >>> 6);
+            for (VagaZonaStatusProjection vaga : vagas) {
+                if (vaga.getStatus() == Vaga.StatusVaga.LIVRE) {
+                    int i = Arrays.binarySearch(ids, vaga.getId());
+                    palavras.set(i >>> 6, palavras.get(i >>> 6) | (1L << i));
+                }
+            }
+            return new Bitmap(ids, palavras);
+        }
+
+        /**
+         * Começa em uma palavra aleatória para que threads concorrentes não disputem o mesmo CAS.
+         */
+        private Long reservar() {
+            int total = palavras.length();
+            if (total == 0) {
+                return null;
+            }
+            int inicio = ThreadLocalRandom.current().nextInt(total);
+            for (int n = 0; n < total; n++) {
+                int w = inicio + n < total ? inicio + n : inicio + n - total;
+                long bits = palavras.get(w);
+                while (bits != 0) {
+                    long bit = Long.lowestOneBit(bits);
+                    if (palavras.compareAndSet(w, bits, bits & ~bit)) {
+                        return ids[(w << 6) + Long.numberOfTrailingZeros(bit)];
+                    }
+                    bits = palavras.get(w);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Marca a vaga como livre ou tomada. Devolve se o bit mudou, ou {@code null} se a vaga não está no bitmap.
+         */
+        private Boolean alterar(Long id, boolean livre) {
+            int i = Arrays.binarySearch(ids, id);
+            if (i < 0) {
+                return null;
+            }
+            long bit = 1L << i;
+            long anterior = livre
+                    ? palavras.getAndAccumulate(i >>> 6, bit, (atual, b) -> atual | b)
+                    : palavras.getAndAccumulate(i >>> 6, ~bit, (atual, b) -> atual & b);
+            return ((anterior & bit) != 0) != livre;
+        }
+
+        private int livres() {
+            int total = 0;
+            for (int w = 0; w < palavras.length(); w++) {
+                total += Long.bitCount(palavras.get(w));
+            }
+            return total;
+        }
+    }
+}
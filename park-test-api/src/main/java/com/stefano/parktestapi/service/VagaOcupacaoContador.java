@@ -0,0 +1,155 @@
+package com.stefano.parktestapi.service;
+
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.repository.VagaRepository;
+import com.stefano.parktestapi.repository.projection.VagaStatusContagemProjection;
+import com.stefano.parktestapi.service.event.VagaStatusAlteradoEvent;
+import com.stefano.parktestapi.service.event.VagasCriadasEmLoteEvent;
+import com.stefano.parktestapi.service.event.ZonaCriadaEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Quantidade de vagas por zona e status, mantida em memória.
+ * <p>
+ * Os contadores são carregados do banco na inicialização e atualizados após o commit de cada mudança de
+ * status, então a consulta não acessa o banco. Cada zona tem seus próprios contadores, e a ocupação geral é
+ * a soma deles. Uma reconciliação periódica com {@code COUNT ... GROUP BY} corrige desvios, como alterações
+ * feitas por outro nó ou direto no banco.
+ * <p>
+ * Cada contador é uma base fixada pela reconciliação mais o acumulado dos eventos. A reconciliação guarda o
+ * acumulado antes da consulta e define a base como a contagem do banco menos esse valor, então os eventos
+ * aplicados enquanto a consulta roda continuam somados em vez de serem apagados. Só um commit que a consulta
+ * já enxerga e cujo evento chega depois dela começar é contado duas vezes, até a próxima reconciliação.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class VagaOcupacaoContador {
+
+    private static final Long SEM_ZONA = 0L;
+
+    private final VagaRepository vagaRepository;
+    private final ConcurrentMap<Long, Map<Vaga.StatusVaga, Contador>> zonas = new ConcurrentHashMap<>();
+
+    public Map<Vaga.StatusVaga, Long> ocupacao() {
+        Map<Vaga.StatusVaga, Long> ocupacao = vazia();
+        zonas.values().forEach(contadores ->
+                contadores.forEach((status, contador) -> ocupacao.merge(status, contador.valor(), Long::sum)));
+        return ocupacao;
+    }
+
+    /**
+     * Ocupação de uma única zona, ou das vagas sem zona se {@code zonaId} for {@code null}.
+     */
+    public Map<Vaga.StatusVaga, Long> ocupacao(Long zonaId) {
+        Map<Vaga.StatusVaga, Long> ocupacao = vazia();
+        Map<Vaga.StatusVaga, Contador> contadores = zonas.get(chave(zonaId));
+        if (contadores != null) {
+            contadores.forEach((status, contador) -> ocupacao.put(status, contador.valor()));
+        }
+        return ocupacao;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${api.vagas.ocupacao.reconciliacao:PT1M}",
+            initialDelayString = "${api.vagas.ocupacao.reconciliacao:PT1M}")
+    public synchronized void reconciliar() {
+        Map<Long, Map<Vaga.StatusVaga, Long>> inicio = new HashMap<>();
+        zonas.forEach((zonaId, contadores) -> {
+            Map<Vaga.StatusVaga, Long> acumulados = new EnumMap<>(Vaga.StatusVaga.class);
+            contadores.forEach((status, contador) -> acumulados.put(status, contador.eventos.sum()));
+            inicio.put(zonaId, acumulados);
+        });
+        Map<Long, Map<Vaga.StatusVaga, Long>> banco = new HashMap<>();
+        for (VagaStatusContagemProjection contagem : vagaRepository.contarPorZonaEStatus()) {
+            banco.computeIfAbsent(chave(contagem.getZonaId()), k -> new EnumMap<>(Vaga.StatusVaga.class))
+                    .put(contagem.getStatus(), contagem.getQuantidade());
+        }
+        banco.keySet().forEach(this::contadores);
+        zonas.forEach((zonaId, contadores) -> {
+            Map<Vaga.StatusVaga, Long> contagens = banco.getOrDefault(zonaId, Map.of());
+            Map<Vaga.StatusVaga, Long> acumulados = inicio.getOrDefault(zonaId, Map.of());
+            contadores.forEach((status, contador) -> {
+                // zonas criadas durante a consulta começaram do zero, depois do início dela
+                long base = contagens.getOrDefault(status, 0L) - acumulados.getOrDefault(status, 0L);
+                long desvio = base - contador.base;
+                if (desvio != 0) {
+                    contador.base = base;
+                    log.debug("Contador de vagas {} da zona {} corrigido em {}", status, zonaId, desvio);
+                }
+            });
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVagaStatusAlterado(VagaStatusAlteradoEvent event) {
+        Map<Vaga.StatusVaga, Contador> contadores = contadores(chave(event.zonaId()));
+        if (event.anterior() != null) {
+            contadores.get(event.anterior()).eventos.decrement();
+        }
+        contadores.get(event.atual()).eventos.increment();
+    }
+
+    /**
+     * Um lote pode espalhar vagas por várias zonas e a criação de uma zona move vagas entre zonas:
+     * nos dois casos os contadores são recarregados do banco.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVagasCriadasEmLote(VagasCriadasEmLoteEvent event) {
+        reconciliar();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZonaCriada(ZonaCriadaEvent event) {
+        reconciliar();
+    }
+
+    private Map<Vaga.StatusVaga, Contador> contadores(Long zonaId) {
+        return zonas.computeIfAbsent(zonaId, k -> {
+            Map<Vaga.StatusVaga, Contador> contadores = new EnumMap<>(Vaga.StatusVaga.class);
+            for (Vaga.StatusVaga status : Vaga.StatusVaga.values()) {
+                contadores.put(status, new Contador());
+            }
+            return contadores;
+        });
+    }
+
+    private static Map<Vaga.StatusVaga, Long> vazia() {
+        Map<Vaga.StatusVaga, Long> ocupacao = new EnumMap<>(Vaga.StatusVaga.class);
+        for (Vaga.StatusVaga status : Vaga.StatusVaga.values()) {
+            ocupacao.put(status, 0L);
+        }
+        return ocupacao;
+    }
+
+    private static Long chave(Long zonaId) {
+        return zonaId != null ? zonaId : SEM_ZONA;
+    }
+
+    /**
+     * A base só é escrita pela reconciliação e os eventos só somam no acumulado, então nenhum dos dois
+     * sobrescreve o que o outro fez.
+     */
+    private static final class Contador {
+
+        private volatile long base;
+        private final LongAdder eventos = new LongAdder();
+
+        private long valor() {
+            return base + eventos.sum();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.stefano.parktestapi.service;
+
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.service.event.VagaStatusAlteradoEvent;
+import com.stefano.parktestapi.service.event.VagasCriadasEmLoteEvent;
+import com.stefano.parktestapi.web.dto.VagaPainelResponseDto;
+import com.stefano.parktestapi.web.dto.mapper.VagaMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fluxo de Server-Sent Events para os painéis das cancelas.
+ * <p>
+ * As mudanças de status são agrupadas em janelas de {@code api.vagas.painel.janela}: uma rajada de
+ * check-ins gera um único evento com a ocupação atual e o último status de cada vaga alterada. O
+ * agrupamento é feito uma vez e compartilhado entre todos os assinantes; cada assinante guarda apenas o
+ * evento mais recente que ainda não conseguiu consumir, então um painel lento não segura quem publica.
+ * Conexões ociosas não ocupam threads, só o heartbeat periódico.
+ * <p>
+ * A publicação roda após o commit, na thread da requisição. As mudanças entram em uma fila e a thread que
+ * encontra a fila livre emite também as que chegarem enquanto emite; as demais voltam na hora, sem esperar
+ * nem disputar o sink.
+ */
+@Component
+public class VagaPainelPublisher {
+
+    public static final String EVENTO_OCUPACAO = "ocupacao";
+
+    private final VagaOcupacaoContador vagaOcupacaoContador;
+    private final Sinks.Many<Mudanca> mudancas = Sinks.unsafe().many().multicast().directBestEffort();
+    private final Queue<Mudanca> pendentes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger emitindo = new AtomicInteger();
+    private final Flux<ServerSentEvent<VagaPainelResponseDto>> atualizacoes;
+    private final Duration heartbeat;
+
+    public VagaPainelPublisher(VagaOcupacaoContador vagaOcupacaoContador,
+                               @Value("${api.vagas.painel.janela:PT0.5S}") Duration janela,
+                               @Value("${api.vagas.painel.heartbeat:PT15S}") Duration heartbeat) {
+        this.vagaOcupacaoContador = vagaOcupacaoContador;
+        this.heartbeat = heartbeat;
+        this.atualizacoes = mudancas.asFlux()
+                .buffer(janela)
+                .filter(lote -> !lote.isEmpty())
+                .map(this::toEvento)
+                .share();
+    }
+
+    /**
+     * Fluxo de um assinante: a ocupação atual, seguida das atualizações e de comentários de heartbeat.
+     */
+    public Flux<ServerSentEvent<VagaPainelResponseDto>> assinar() {
+        return Flux.defer(() -> Flux.just(toEvento(List.of())))
+                .concatWith(atualizacoes.onBackpressureLatest())
+                .mergeWith(Flux.interval(heartbeat)
+                        .map(n -> ServerSentEvent.<VagaPainelResponseDto>builder().comment("heartbeat").build())
+                        .onBackpressureDrop());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVagaStatusAlterado(VagaStatusAlteradoEvent event) {
+        publicar(new Mudanca(event.id(), event.atual()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVagasCriadasEmLote(VagasCriadasEmLoteEvent event) {
+        publicar(new Mudanca(null, event.status()));
+    }
+
+    private void publicar(Mudanca mudanca) {
+        pendentes.offer(mudanca);
+        if (emitindo.getAndIncrement() != 0) {
+            return;
+        }
+        int vistas = 1;
+        do {
+            Mudanca proxima;
+            while ((proxima = pendentes.poll()) != null) {
+                // sem assinantes ou com um painel lento, a mudança é descartada, como no directBestEffort
+                mudancas.tryEmitNext(proxima);
+            }
+            vistas = emitindo.addAndGet(-vistas);
+        } while (vistas != 0);
+    }
+
+    private ServerSentEvent<VagaPainelResponseDto> toEvento(List<Mudanca> lote) {
+        Map<Long, String> vagas = lote.isEmpty() ? Collections.emptyMap() : new LinkedHashMap<>();
+        for (Mudanca mudanca : lote) {
+            if (mudanca.id() != null) {
+                vagas.put(mudanca.id(), mudanca.status().name());
+            }
+        }
+        VagaPainelResponseDto painel = new VagaPainelResponseDto(
+                VagaMapper.toOcupacaoDto(vagaOcupacaoContador.ocupacao()), vagas);
+        return ServerSentEvent.builder(painel).event(EVENTO_OCUPACAO).build();
+    }
+
+    private record Mudanca(Long id, Vaga.StatusVaga status) {
+    }
+}
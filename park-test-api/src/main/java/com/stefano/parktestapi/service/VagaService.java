@@ -1,34 +1,278 @@
 package com.stefano.parktestapi.service;
 
 import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.entity.Zona;
 import com.stefano.parktestapi.exception.CodigoUniqueViolationException;
 import com.stefano.parktestapi.exception.EntityNotFoundException;
+import com.stefano.parktestapi.exception.ReservaLimiteException;
+import com.stefano.parktestapi.repository.UsuarioRepository;
 import com.stefano.parktestapi.repository.VagaRepository;
-import lombok.RequiredArgsConstructor;
+import com.stefano.parktestapi.repository.ZonaRepository;
+import com.stefano.parktestapi.service.event.VagaStatusAlteradoEvent;
+import com.stefano.parktestapi.service.event.VagasCriadasEmLoteEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import static com.stefano.parktestapi.entity.Vaga.StatusVaga.LIVRE;
+import static com.stefano.parktestapi.entity.Vaga.StatusVaga.OCUPADA;
+import static com.stefano.parktestapi.entity.Vaga.StatusVaga.RESERVADA;
 
-@RequiredArgsConstructor
 @Service
 public class VagaService {
 
     private final VagaRepository vagaRepository;
+    private final ZonaRepository zonaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final VagaLivreIndex vagaLivreIndex;
+    private final ReservaExpiracao reservaExpiracao;
+    private final VagaCodigoCache vagaCodigoCache;
+    private final AuditorAware<String> auditorAware;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final Duration duracaoReserva;
+    private final int maximoReservas;
+
+    public VagaService(VagaRepository vagaRepository,
+                       ZonaRepository zonaRepository,
+                       UsuarioRepository usuarioRepository,
+                       VagaLivreIndex vagaLivreIndex,
+                       ReservaExpiracao reservaExpiracao,
+                       VagaCodigoCache vagaCodigoCache,
+                       AuditorAware<String> auditorAware,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${api.vagas.lote.batch-size:500}") int tamanhoLote,
+                       @Value("${api.vagas.reserva.duracao:PT15M}") Duration duracaoReserva,
+                       @Value("${api.vagas.reserva.maximo-por-usuario:1}") int maximoReservas) {
+        this.vagaRepository = vagaRepository;
+        this.zonaRepository = zonaRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.vagaLivreIndex = vagaLivreIndex;
+        this.reservaExpiracao = reservaExpiracao;
+        this.vagaCodigoCache = vagaCodigoCache;
+        this.auditorAware = auditorAware;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.duracaoReserva = duracaoReserva;
+        this.maximoReservas = maximoReservas;
+    }
 
+    /**
+     * Cadastra a vaga na zona indicada pelo prefixo do seu código, se a zona existir.
+     */
     @Transactional
     public Vaga salvar(Vaga vaga) {
+        String prefixo = Zona.prefixoDe(vaga.getCodigo());
+        if (prefixo != null) {
+            zonaRepository.findByCodigo(prefixo).ifPresent(vaga::setZona);
+        }
         try {
-            return vagaRepository.save(vaga);
+            Vaga salva = vagaRepository.save(vaga);
+            eventPublisher.publishEvent(new VagaStatusAlteradoEvent(salva.getId(), salva.getCodigo(), salva.getZonaId(), null, salva.getStatusVaga()));
+            return salva;
         } catch (DataIntegrityViolationException ex) {
             throw new CodigoUniqueViolationException(String.format("Vaga de Código %s já cadastrada.", vaga.getCodigo()));
         }
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Cadastra várias vagas com inserts em batch JDBC, uma transação por lote de {@code api.vagas.lote.batch-size}.
+     * Códigos já cadastrados, ou repetidos na própria lista, são devolvidos em {@link Lote#duplicadas()}
+     * sem interromper o cadastro dos demais.
+     */
+    public Lote salvarEmLote(List<String> codigos, Vaga.StatusVaga status) {
+        Set<String> unicos = new LinkedHashSet<>();
+        List<String> duplicadas = new ArrayList<>();
+        for (String codigo : codigos) {
+            if (!unicos.add(codigo)) {
+                duplicadas.add(codigo);
+            }
+        }
+
+        Map<String, Long> zonas = new HashMap<>();
+        Set<String> prefixos = new HashSet<>();
+        unicos.forEach(codigo -> prefixos.add(Zona.prefixoDe(codigo)));
+        prefixos.remove(null);
+        zonaRepository.findByCodigoIn(prefixos).forEach(zona -> zonas.put(zona.getCodigo(), zona.getId()));
+
+        LocalDateTime agora = LocalDateTime.now();
+        String usuario = usuarioAtual();
+        List<String> pendentes = new ArrayList<>(unicos);
+        int criadas = 0;
+        for (int i = 0; i < pendentes.size(); i += tamanhoLote) {
+            List<String> lote = pendentes.subList(i, Math.min(i + tamanhoLote, pendentes.size()));
+            Set<String> existentes = new HashSet<>(vagaRepository.findCodigosExistentes(lote));
+            List<String> novas = new ArrayList<>(lote.size());
+            for (String codigo : lote) {
+                if (existentes.contains(codigo)) {
+                    duplicadas.add(codigo);
+                } else {
+                    novas.add(codigo);
+                }
+            }
+            criadas += inserir(novas, zonas, status, agora, usuario, duplicadas);
+        }
+
+        if (criadas > 0) {
+            eventPublisher.publishEvent(new VagasCriadasEmLoteEvent(criadas, status));
+        }
+        return new Lote(criadas, duplicadas);
+    }
+
+    /**
+     * Se outro cadastro inseriu um dos códigos depois da verificação, a transação do lote é desfeita e
+     * o lote é refeito vaga a vaga para separar as duplicadas.
+     */
+    private int inserir(List<String> novas, Map<String, Long> zonas, Vaga.StatusVaga status, LocalDateTime data, String usuario, List<String> duplicadas) {
+        if (novas.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> vagaRepository.inserirEmLote(novas, zonas, status, data, usuario));
+            return novas.size();
+        } catch (DataIntegrityViolationException ex) {
+            int criadas = 0;
+            for (String codigo : novas) {
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> vagaRepository.inserirEmLote(List.of(codigo), zonas, status, data, usuario));
+                    criadas++;
+                } catch (DataIntegrityViolationException duplicada) {
+                    duplicadas.add(codigo);
+                }
+            }
+            return criadas;
+        }
+    }
+
+    /**
+     * Busca a vaga pelo {@link VagaCodigoCache}, sem transação: vagas em cache não acessam o banco.
+     */
     public Vaga buscarPorCodigo(String codigo) {
-        return vagaRepository.findByCodigo(codigo).orElseThrow(
+        return vagaCodigoCache.buscar(codigo, vagaRepository::findByCodigo).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Vaga de Código %s não encontrada.", codigo))
         );
     }
 
+    /**
+     * Lista as vagas em ordem de código a partir de {@code after} (exclusivo), usando o índice
+     * {@code (status, codigo)} ou o índice único de {@code codigo}: o custo não depende da posição na listagem.
+     */
+    @Transactional(readOnly = true)
+    public List<Vaga> buscarTodos(Vaga.StatusVaga status, String prefixo, String after, int limite) {
+        String inicio = prefixo != null ? prefixo : "";
+        String depoisDe = after != null ? after : "";
+        if (status == null) {
+            return vagaRepository.findByCodigoStartingWithAndCodigoGreaterThanOrderByCodigoAsc(inicio, depoisDe, Limit.of(limite));
+        }
+        return vagaRepository.findByStatusVagaAndCodigoStartingWithAndCodigoGreaterThanOrderByCodigoAsc(status, inicio, depoisDe, Limit.of(limite));
+    }
+
+    /**
+     * Ocupa a vaga livre que melhor atende a preferência. A vaga é escolhida no índice em memória e confirmada
+     * com um update condicional, então requisições concorrentes nunca recebem a mesma vaga.
+     */
+    @Transactional
+    public Vaga alocar(PreferenciaAlocacao preferencia) {
+        return tomarLivre(preferencia, OCUPADA, id -> vagaRepository.alterarStatus(id, LIVRE, OCUPADA, LocalDateTime.now(), usuarioAtual()));
+    }
+
+    /**
+     * Reserva uma vaga livre para o usuário por {@code api.vagas.reserva.duracao}. Se não for ocupada por um
+     * check-in até o prazo, a vaga volta a ficar livre pela {@link ReservaExpiracao}. Cada usuário mantém no
+     * máximo {@code api.vagas.reserva.maximo-por-usuario} reservas ativas; a linha do usuário fica bloqueada
+     * até o commit para que reservas concorrentes dele não passem juntas pela contagem.
+     */
+    @Transactional
+    public Vaga reservar(PreferenciaAlocacao preferencia, Long usuarioId) {
+        LocalDateTime agora = LocalDateTime.now();
+        usuarioRepository.findComBloqueioById(usuarioId).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Usuário id: %s não encontrado.", usuarioId))
+        );
+        if (vagaRepository.countReservasAtivas(usuarioId, agora) >= maximoReservas) {
+            throw new ReservaLimiteException(String.format("Limite de %d reserva(s) ativa(s) atingido.", maximoReservas));
+        }
+        LocalDateTime ate = agora.plus(duracaoReserva);
+        Vaga vaga = tomarLivre(preferencia, RESERVADA, id -> vagaRepository.reservar(id, usuarioId, ate, agora, usuarioAtual()));
+        reservaExpiracao.agendar(vaga.getId(), ate);
+        return vaga;
+    }
+
+    /**
+     * Ocupa uma vaga reservada pelo usuário {@code donoId}. Falha se a reserva é de outro usuário, já expirou
+     * ou já foi usada.
+     */
+    @Transactional
+    public Vaga ocuparReserva(String codigo, Long donoId) {
+        if (vagaRepository.ocuparReserva(codigo, donoId, LocalDateTime.now(), usuarioAtual()) == 0) {
+            throw new EntityNotFoundException(String.format("Reserva da vaga %s não encontrada ou expirada.", codigo));
+        }
+        Vaga vaga = vagaRepository.findByCodigo(codigo).orElseThrow();
+        eventPublisher.publishEvent(new VagaStatusAlteradoEvent(vaga.getId(), codigo, vaga.getZonaId(), RESERVADA, OCUPADA));
+        return vaga;
+    }
+
+    /**
+     * Devolve uma vaga ocupada ao status {@code LIVRE}.
+     */
+    @Transactional
+    public void liberar(Vaga vaga) {
+        if (vagaRepository.alterarStatus(vaga.getId(), OCUPADA, LIVRE, LocalDateTime.now(), usuarioAtual()) > 0) {
+            eventPublisher.publishEvent(new VagaStatusAlteradoEvent(vaga.getId(), vaga.getCodigo(), vaga.getZonaId(), OCUPADA, LIVRE));
+        }
+    }
+
+    /**
+     * Escolhe vagas livres no índice até que {@code troca} confirme uma delas no banco.
+     */
+    private Vaga tomarLivre(PreferenciaAlocacao preferencia, Vaga.StatusVaga novo, ToIntFunction<Long> troca) {
+        List<Long> zonaIds = zonasAceitas(preferencia.zona(), preferencia.nivel());
+        Long id;
+        while ((id = vagaLivreIndex.reservar(zonaIds, preferencia.criterio(), preferencia.tipo())) != null) {
+            if (troca.applyAsInt(id) > 0) {
+                Vaga vaga = vagaRepository.findById(id).orElseThrow();
+                eventPublisher.publishEvent(new VagaStatusAlteradoEvent(id, vaga.getCodigo(), vaga.getZonaId(), LIVRE, novo));
+                return vaga;
+            }
+        }
+        throw new EntityNotFoundException("Nenhuma vaga livre disponível.");
+    }
+
+    private List<Long> zonasAceitas(String zona, Integer nivel) {
+        if (zona != null) {
+            Zona encontrada = zonaRepository.findByCodigo(zona).orElseThrow(
+                    () -> new EntityNotFoundException(String.format("Zona de Código %s não encontrada.", zona))
+            );
+            return nivel == null || nivel.equals(encontrada.getNivel()) ? List.of(encontrada.getId()) : List.of();
+        }
+        return nivel != null ? zonaRepository.findIdsByNivel(nivel) : null;
+    }
+
+    public record Lote(int criadas, List<String> duplicadas) {
+    }
+
+    private String usuarioAtual() {
+        Optional<String> auditor = auditorAware.getCurrentAuditor();
+        return auditor != null ? auditor.orElse(null) : null;
+    }
 }
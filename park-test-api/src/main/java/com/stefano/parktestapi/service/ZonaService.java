@@ -0,0 +1,52 @@
+package com.stefano.parktestapi.service;
+
+import com.stefano.parktestapi.entity.Zona;
+import com.stefano.parktestapi.exception.CodigoUniqueViolationException;
+import com.stefano.parktestapi.exception.EntityNotFoundException;
+import com.stefano.parktestapi.repository.VagaRepository;
+import com.stefano.parktestapi.repository.ZonaRepository;
+import com.stefano.parktestapi.service.event.ZonaCriadaEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ZonaService {
+
+    private final ZonaRepository zonaRepository;
+    private final VagaRepository vagaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Cadastra a zona e vincula a ela as vagas sem zona cujo código tem o seu prefixo, como {@code A-01} para a zona {@code A}.
+     */
+    @Transactional
+    public Zona salvar(Zona zona) {
+        try {
+            Zona salva = zonaRepository.save(zona);
+            vagaRepository.vincularZona(salva, salva.getCodigo() + "-%");
+            eventPublisher.publishEvent(new ZonaCriadaEvent(salva.getId(), salva.getCodigo()));
+            return salva;
+        } catch (DataIntegrityViolationException ex) {
+            throw new CodigoUniqueViolationException(String.format("Zona de Código %s já cadastrada.", zona.getCodigo()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Zona buscarPorCodigo(String codigo) {
+        return zonaRepository.findByCodigo(codigo).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Zona de Código %s não encontrada.", codigo))
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public List<Zona> buscarTodos() {
+        return zonaRepository.findAll(Sort.by("nivel", "codigo"));
+    }
+}
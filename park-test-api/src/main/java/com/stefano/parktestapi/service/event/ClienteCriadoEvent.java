@@ -0,0 +1,7 @@
+package com.stefano.parktestapi.service.event;
+
+/**
+ * Publicado quando um cliente é cadastrado.
+ */
+public record ClienteCriadoEvent(Long id) {
+}
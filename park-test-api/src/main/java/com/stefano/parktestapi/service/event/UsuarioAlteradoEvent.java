@@ -0,0 +1,7 @@
+package com.stefano.parktestapi.service.event;
+
+/**
+ * Publicado sempre que os dados de autenticação de um usuário mudam (cadastro ou troca de senha).
+ */
+public record UsuarioAlteradoEvent(Long id, String username) {
+}
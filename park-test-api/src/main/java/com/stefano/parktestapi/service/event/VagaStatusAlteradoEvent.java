@@ -0,0 +1,10 @@
+package com.stefano.parktestapi.service.event;
+
+import com.stefano.parktestapi.entity.Vaga;
+
+/**
+ * Publicado quando uma vaga é criada ({@code anterior == null}) ou muda de status.
+ * {@code zonaId} é {@code null} para vagas sem zona.
+ */
+public record VagaStatusAlteradoEvent(Long id, String codigo, Long zonaId, Vaga.StatusVaga anterior, Vaga.StatusVaga atual) {
+}
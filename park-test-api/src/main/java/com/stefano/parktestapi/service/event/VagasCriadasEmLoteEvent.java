@@ -0,0 +1,9 @@
+package com.stefano.parktestapi.service.event;
+
+import com.stefano.parktestapi.entity.Vaga;
+
+/**
+ * Publicado após um cadastro de vagas em lote, que não passa pelo JPA e por isso não tem os ids das vagas criadas.
+ */
+public record VagasCriadasEmLoteEvent(int quantidade, Vaga.StatusVaga status) {
+}
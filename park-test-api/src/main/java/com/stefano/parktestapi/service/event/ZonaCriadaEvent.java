@@ -0,0 +1,7 @@
+package com.stefano.parktestapi.service.event;
+
+/**
+ * Publicado quando uma zona é criada; vagas já existentes com o prefixo da zona passam a pertencer a ela.
+ */
+public record ZonaCriadaEvent(Long id, String codigo) {
+}
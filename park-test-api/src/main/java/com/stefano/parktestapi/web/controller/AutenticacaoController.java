@@ -1,7 +1,12 @@
 package com.stefano.parktestapi.web.controller;
 
 import com.stefano.parktestapi.jwt.JwtToken;
-import com.stefano.parktestapi.jwt.JwtUserDetailsService;
+import com.stefano.parktestapi.jwt.JwtService;
+import com.stefano.parktestapi.jwt.JwtUserDetails;
+import com.stefano.parktestapi.security.LoginRateLimiter;
+import com.stefano.parktestapi.service.RefreshTokenService;
+import com.stefano.parktestapi.service.UsuarioService;
+import com.stefano.parktestapi.web.dto.RefreshTokenDto;
 import com.stefano.parktestapi.web.dto.UsuarioLoginDto;
 import com.stefano.parktestapi.web.dto.UsuarioResponseDto;
 import com.stefano.parktestapi.web.exception.ErrorMessage;
@@ -9,6 +14,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -18,7 +24,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -31,8 +39,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/v1")
 public class AutenticacaoController {
 
-    private final JwtUserDetailsService detailsService;
+    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final UsuarioService usuarioService;
     private final AuthenticationManager authenticationManager;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Operation(summary = "Autenticar na API", description = "Recurso de autenticação na API.",
             responses = {
@@ -41,18 +52,25 @@ public class AutenticacaoController {
                     @ApiResponse(responseCode = "400", description = "Credenciais inválidas",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
                     @ApiResponse(responseCode = "422", description = "Campo(s) inválido(s)",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "429", description = "Tentativas demais para o usuário ou IP, repetir após o tempo do header Retry-After",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "503", description = "Serviço de autenticação sobrecarregado, repetir após o tempo do header Retry-After",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
             })
     @PostMapping("/auth")
     public ResponseEntity<?> autenticar(@RequestBody @Valid UsuarioLoginDto dto, HttpServletRequest request) {
         log.info("Processo de autenticação pelo login {}", dto.getUsername());
+        loginRateLimiter.verificar(dto.getUsername(), request.getRemoteAddr());
         try {
             UsernamePasswordAuthenticationToken authenticationToken =
                     new UsernamePasswordAuthenticationToken(dto.getUsername(), dto.getPassword());
 
-            authenticationManager.authenticate(authenticationToken);
+            Authentication authentication = authenticationManager.authenticate(authenticationToken);
 
-            JwtToken token = detailsService.getTokenAuthenticated(dto.getUsername());
+            JwtUserDetails user = (JwtUserDetails) authentication.getPrincipal();
+            JwtToken token = jwtService.createToken(user);
+            token.setRefreshToken(refreshTokenService.criar(user.getId()));
 
             return ResponseEntity.ok(token);
         } catch (AuthenticationException ex) {
@@ -62,4 +80,34 @@ public class AutenticacaoController {
                 .badRequest()
                 .body(new ErrorMessage(request, HttpStatus.BAD_REQUEST, "Credenciais Inválidas"));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Renovar o token de acesso", description = "Troca um refresh token válido por um novo token de acesso " +
+            "e um novo refresh token, sem reenviar a senha. O refresh token apresentado deixa de ser válido.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Token renovado com sucesso.",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = JwtToken.class))),
+                    @ApiResponse(responseCode = "400", description = "Refresh token inválido ou expirado",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "422", description = "Campo(s) inválido(s)",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PostMapping("/auth/refresh")
+    public ResponseEntity<JwtToken> renovar(@RequestBody @Valid RefreshTokenDto dto) {
+        RefreshTokenService.Renovacao renovacao = refreshTokenService.renovar(dto.getRefreshToken());
+        JwtToken token = jwtService.createToken(new JwtUserDetails(renovacao.usuario()));
+        token.setRefreshToken(renovacao.refreshToken());
+        return ResponseEntity.ok(token);
+    }
+
+    @Operation(summary = "Encerrar sessões", description = "Revoga todos os tokens de acesso e refresh tokens já emitidos " +
+            "para o usuário autenticado. Requisição exige uso de um bearer token.",
+            security = @SecurityRequirement(name = "Authorization"),
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Tokens revogados com sucesso")
+            })
+    @PostMapping("/auth/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal JwtUserDetails user) {
+        usuarioService.revogarTokens(user.getId(), user.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+}
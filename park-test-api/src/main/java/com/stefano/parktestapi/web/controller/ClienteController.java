@@ -3,12 +3,17 @@ package com.stefano.parktestapi.web.controller;
 import com.stefano.parktestapi.entity.Cliente;
 import com.stefano.parktestapi.jwt.JwtUserDetails;
 import com.stefano.parktestapi.repository.projection.ClienteProjection;
+import com.stefano.parktestapi.service.ClienteCursor;
 import com.stefano.parktestapi.service.ClienteService;
 import com.stefano.parktestapi.service.UsuarioService;
 import com.stefano.parktestapi.web.dto.ClienteCreateDto;
 import com.stefano.parktestapi.web.dto.ClienteResponseDto;
+import com.stefano.parktestapi.web.dto.KeysetPageableDto;
 import com.stefano.parktestapi.web.dto.PageableDto;
+import com.stefano.parktestapi.web.dto.SliceDto;
+import com.stefano.parktestapi.web.dto.mapper.ClienteExportacaoMapper;
 import com.stefano.parktestapi.web.dto.mapper.ClienteMapper;
+import com.stefano.parktestapi.web.dto.mapper.KeysetPageableMapper;
 import com.stefano.parktestapi.web.dto.mapper.PageableMapper;
 import com.stefano.parktestapi.web.exception.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,15 +23,35 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
 import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 
@@ -36,9 +61,17 @@ import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 
 public class ClienteController {
 
+    private static final int EXPORTACAO_BUFFER = 16 * 1024;
+
     private final ClienteService clienteService;
     private final UsuarioService usuarioService;
 
+    /**
+     * A exportação é uma resposta assíncrona longa, com prazo próprio em vez do {@code api.web.async-timeout} dos streams SSE.
+     */
+    @Value("${api.clientes.exportacao.timeout:PT2H}")
+    private Duration exportacaoTimeout;
+
     @Operation(summary = "Criar um novo cliente", description = "Recurso para criar um novo cliente vinculado a um usuário cadastrado. " +
             "Requisição exige uso de um bearer token. Acesso restrito a Role='CLIENTE'",
             security = @SecurityRequirement(name = "security"),
@@ -77,7 +110,7 @@ public class ClienteController {
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ClienteResponseDto> getById(@PathVariable Long id) {
-        Cliente cliente = clienteService.buscarPorId(id);
+        ClienteProjection cliente = clienteService.buscarPorId(id);
         return ResponseEntity.ok(ClienteMapper.toDto(cliente));
     }
 
@@ -114,6 +147,161 @@ public class ClienteController {
         return ResponseEntity.ok(PageableMapper.toDto(clientes));
     }
 
+    @Operation(summary = "Recuperar lista de clientes sem totais",
+            description = "Com 'count=false' a página não traz totalElements nem totalPages e dispensa a contagem de registros; " +
+                    "'last' indica se existe uma próxima página. Requisição exige uso de um bearer token. Acesso restrito a 'ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "count", required = true,
+                            content = @Content(schema = @Schema(type = "boolean", allowableValues = "false"))),
+                    @Parameter(in = QUERY, name = "page",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "0")),
+                            description = "Representa a página retornada"
+                    ),
+                    @Parameter(in = QUERY, name = "size",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "5")),
+                            description = "Representa o total de elementos por página"
+                    ),
+                    @Parameter(in = QUERY, name = "sort", hidden = true,
+                            array = @ArraySchema(schema = @Schema(type = "string", defaultValue = "nome,asc")),
+                            description = "Representa a ordenação dos resultados. Aceita multiplos critérios de ordenação são suportados.")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso recuperado com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = SliceDto.class))
+                    ),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @GetMapping(params = {"count=false", "!after"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SliceDto> getAllSemTotal(@Parameter(hidden = true) @PageableDefault(size = 5, sort = {"nome"}) Pageable pageable) {
+        Slice<ClienteProjection> clientes = clienteService.buscarTodosSemTotal(pageable);
+        return ResponseEntity.ok(PageableMapper.toSliceDto(clientes));
+    }
+
+    @Operation(summary = "Recuperar lista de clientes por cursor",
+            description = "Listagem em ordem de nome paginada por keyset: envie 'after' vazio para a primeira página e o 'next' " +
+                    "da página anterior para as seguintes. Requisição exige uso de um bearer token. Acesso restrito a 'ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "after", required = true,
+                            description = "Cursor opaco devolvido em 'next' pela página anterior; vazio para a primeira página"),
+                    @Parameter(in = QUERY, name = "size",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "5", maximum = "100")),
+                            description = "Representa o total de elementos por página")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso recuperado com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = KeysetPageableDto.class))
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Cursor inválido",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @GetMapping(params = "after")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeysetPageableDto> getAll(@RequestParam String after,
+                                                    @RequestParam(defaultValue = "5") int size) {
+        int limite = Math.min(Math.max(size, 1), 100);
+        ClienteCursor cursor = after.isEmpty() ? null : ClienteCursor.decodificar(after);
+        List<ClienteProjection> clientes = clienteService.buscarTodos(cursor, limite + 1);
+        return ResponseEntity.ok(KeysetPageableMapper.toDto(clientes, limite, c -> c,
+                c -> new ClienteCursor(c.getNome(), c.getId()).codificar()));
+    }
+
+    @Operation(summary = "Buscar clientes por nome ou CPF",
+            description = "Busca pelo início do nome, sem diferenciar acentos nem maiúsculas ('joao' encontra 'João'), ou pelo " +
+                    "início do CPF quando o termo só tem dígitos. Requisição exige uso de um bearer token. Acesso restrito a 'ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "q", required = true, description = "Início do nome ou do CPF"),
+                    @Parameter(in = QUERY, name = "size",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "10", maximum = "50")),
+                            description = "Quantidade máxima de clientes retornados")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso recuperado com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    array = @ArraySchema(schema = @Schema(implementation = ClienteResponseDto.class)))
+                    ),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @GetMapping("/busca")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ClienteProjection>> buscar(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "10") int size) {
+        int limite = Math.min(Math.max(size, 1), 50);
+        return ResponseEntity.ok(clienteService.buscar(q, limite));
+    }
+
+    @Operation(summary = "Exportar todos os clientes",
+            description = "Exporta id, nome e CPF de todos os clientes em NDJSON ou CSV, escritos à medida que são lidos do banco. " +
+                    "Com 'gzip=true' a resposta é comprimida (Content-Encoding: gzip). " +
+                    "Requisição exige uso de um bearer token. Acesso restrito a 'ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "formato",
+                            content = @Content(schema = @Schema(type = "string", allowableValues = {"NDJSON", "CSV"}, defaultValue = "NDJSON"))),
+                    @Parameter(in = QUERY, name = "gzip",
+                            content = @Content(schema = @Schema(type = "boolean", defaultValue = "false")))
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Exportação gerada com sucesso",
+                            content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}
+                    ),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @GetMapping("/exportacao")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "NDJSON") ClienteExportacaoMapper.Formato formato,
+                                                          @RequestParam(defaultValue = "false") boolean gzip,
+                                                          HttpServletRequest request) {
+        definirTimeout(request, exportacaoTimeout);
+        StreamingResponseBody corpo = saida -> {
+            OutputStream destino = gzip ? new GZIPOutputStream(saida, EXPORTACAO_BUFFER) : saida;
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8), EXPORTACAO_BUFFER)) {
+                ClienteExportacaoMapper.escrever(formato, writer, clienteService::exportar);
+            }
+        };
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("clientes." + formato.getExtensao()).build().toString());
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(corpo);
+    }
+
+    /**
+     * Troca o timeout padrão das respostas assíncronas para esta requisição. O {@link StreamingResponseBody} não
+     * aceita timeout próprio; o interceptor o aplica antes de a requisição entrar em modo assíncrono.
+     */
+    private static void definirTimeout(HttpServletRequest request, Duration timeout) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ClienteController.class, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest asyncRequest, Callable<T> task) {
+                ((AsyncWebRequest) asyncRequest).setTimeout(timeout.toMillis());
+            }
+        });
+    }
+
     @Operation(summary = "Recuperar dados do cliente autenticado",
             description = "Requisição exige uso de um bearer token. Acesso restrito a 'CLIENTE'",
             security = @SecurityRequirement(name = "security"),
@@ -125,12 +313,16 @@ public class ClienteController {
                     @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de ADMIN",
                             content = @Content(mediaType = " application/json;charset=UTF-8",
                                     schema = @Schema(implementation = ErrorMessage.class))
+                    ),
+                    @ApiResponse(responseCode = "404", description = "Usuário autenticado não possui cadastro de cliente",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
                     )
             })
     @GetMapping("/detalhes")
     @PreAuthorize("hasRole('CLIENTE')")
     public ResponseEntity<ClienteResponseDto> getDetalhes(@AuthenticationPrincipal JwtUserDetails jwtUserDetails) {
-        Cliente cliente = clienteService.buscarPorUsuarioId(jwtUserDetails.getId());
+        ClienteProjection cliente = clienteService.buscarPorUsuarioId(jwtUserDetails.getId());
         return ResponseEntity.ok(ClienteMapper.toDto(cliente));
     }
 }
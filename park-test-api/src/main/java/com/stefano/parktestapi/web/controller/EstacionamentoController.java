@@ -0,0 +1,107 @@
+package com.stefano.parktestapi.web.controller;
+
+import com.stefano.parktestapi.entity.ClienteVaga;
+import com.stefano.parktestapi.service.EstacionamentoService;
+import com.stefano.parktestapi.web.dto.EstacionamentoCreateDto;
+import com.stefano.parktestapi.web.dto.EstacionamentoResponseDto;
+import com.stefano.parktestapi.web.dto.mapper.ClienteVagaMapper;
+import com.stefano.parktestapi.web.exception.ErrorMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/estacionamentos")
+public class EstacionamentoController {
+
+    private final EstacionamentoService estacionamentoService;
+
+    @Operation(summary = "Operação de check-in", description = "Recurso para dar entrada de um veículo no estacionamento " +
+            "em uma vaga livre ou na vaga informada em 'vagaReservada', se ela estiver reservada. " +
+            "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Recurso criado com sucesso",
+                            headers = @Header(name = HttpHeaders.LOCATION, description = "URL de acesso ao recurso criado"),
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = EstacionamentoResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "CPF do cliente não cadastrado, nenhuma vaga livre disponível ou reserva expirada ou de outro usuário",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "422", description = "Recurso não processado por falta de dados ou dados inválidos",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PostMapping("/check-in")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EstacionamentoResponseDto> checkIn(@RequestBody @Valid EstacionamentoCreateDto dto) {
+
+        ClienteVaga clienteVaga = estacionamentoService.checkIn(ClienteVagaMapper.toClienteVaga(dto), dto.getClienteCpf(), dto.getVagaReservada());
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath().path("/api/v1/estacionamentos/{recibo}")
+                .buildAndExpand(clienteVaga.getRecibo())
+                .toUri();
+
+        return ResponseEntity.created(location).body(ClienteVagaMapper.toDto(clienteVaga));
+    }
+
+    @Operation(summary = "Localizar um ticket", description = "Recurso para retornar um ticket pelo número do recibo. " +
+            "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso localizado com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = EstacionamentoResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Número do recibo não encontrado",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @GetMapping("/{recibo}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EstacionamentoResponseDto> getByRecibo(@PathVariable String recibo) {
+
+        ClienteVaga clienteVaga = estacionamentoService.buscarPorRecibo(recibo);
+        return ResponseEntity.ok(ClienteVagaMapper.toDto(clienteVaga));
+    }
+
+    @Operation(summary = "Operação de check-out", description = "Recurso para dar saída de um veículo e liberar a vaga. " +
+            "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Check-out realizado com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = EstacionamentoResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Número do recibo não encontrado ou check-out já realizado",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PutMapping("/check-out/{recibo}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<EstacionamentoResponseDto> checkOut(@PathVariable String recibo) {
+
+        ClienteVaga clienteVaga = estacionamentoService.checkOut(recibo);
+        return ResponseEntity.ok(ClienteVagaMapper.toDto(clienteVaga));
+    }
+}
@@ -1,12 +1,24 @@
 package com.stefano.parktestapi.web.controller;
 
 import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.jwt.JwtUserDetails;
+import com.stefano.parktestapi.service.PreferenciaAlocacao;
+import com.stefano.parktestapi.service.VagaOcupacaoContador;
+import com.stefano.parktestapi.service.VagaPainelPublisher;
 import com.stefano.parktestapi.service.VagaService;
+import com.stefano.parktestapi.service.ZonaService;
+import com.stefano.parktestapi.web.dto.KeysetPageableDto;
 import com.stefano.parktestapi.web.dto.VagaCreateDto;
+import com.stefano.parktestapi.web.dto.VagaLoteCreateDto;
+import com.stefano.parktestapi.web.dto.VagaLoteResponseDto;
+import com.stefano.parktestapi.web.dto.VagaOcupacaoResponseDto;
+import com.stefano.parktestapi.web.dto.VagaPainelResponseDto;
 import com.stefano.parktestapi.web.dto.VagaResponseDto;
+import com.stefano.parktestapi.web.dto.mapper.KeysetPageableMapper;
 import com.stefano.parktestapi.web.dto.mapper.VagaMapper;
 import com.stefano.parktestapi.web.exception.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,12 +27,19 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Flux;
 
 import java.net.URI;
+import java.util.List;
+
+import static io.swagger.v3.oas.annotations.enums.ParameterIn.QUERY;
 
 @RequiredArgsConstructor
 @RestController
@@ -28,6 +47,9 @@ import java.net.URI;
 public class VagaController {
 
     private final VagaService vagaService;
+    private final VagaOcupacaoContador vagaOcupacaoContador;
+    private final VagaPainelPublisher vagaPainelPublisher;
+    private final ZonaService zonaService;
 
     @Operation(summary = "Criar uma nova vaga", description = "Recurso para criar uma nova vaga." +
             "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
@@ -60,6 +82,113 @@ public class VagaController {
         return ResponseEntity.created(location).build();
     }
 
+    @Operation(summary = "Criar vagas em lote", description = "Recurso para criar várias vagas de uma vez, por lista de códigos " +
+            "ou por intervalo como 'A-01..A-99'. Códigos já cadastrados são informados na resposta sem interromper o lote. " +
+            "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lote processado com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = VagaLoteResponseDto.class))),
+                    @ApiResponse(responseCode = "422", description = "Recurso não processado por falta de dados ou dados inválidos",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @PostMapping("/lote")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VagaLoteResponseDto> createLote (@RequestBody @Valid VagaLoteCreateDto dto) {
+
+        VagaService.Lote lote = vagaService.salvarEmLote(VagaMapper.toCodigos(dto), Vaga.StatusVaga.valueOf(dto.getStatus()));
+        return ResponseEntity.ok(new VagaLoteResponseDto(lote.criadas(), lote.duplicadas()));
+    }
+
+    @Operation(summary = "Ocupação do estacionamento", description = "Recurso para retornar a quantidade de vagas por status, " +
+            "de todo o estacionamento ou de uma zona, mantida em memória e reconciliada periodicamente com o banco. " +
+            "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "zona", description = "Código da zona, ex.: 'A'. Sem ele, a ocupação é de todas as zonas")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso recuperado com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = VagaOcupacaoResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Zona não localizada",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @GetMapping("/ocupacao")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VagaOcupacaoResponseDto> getOcupacao (@RequestParam(required = false) String zona) {
+
+        if (zona == null) {
+            return ResponseEntity.ok(VagaMapper.toOcupacaoDto(vagaOcupacaoContador.ocupacao()));
+        }
+        Long zonaId = zonaService.buscarPorCodigo(zona).getId();
+        return ResponseEntity.ok(VagaMapper.toOcupacaoDto(vagaOcupacaoContador.ocupacao(zonaId)));
+    }
+
+    @Operation(summary = "Painel de ocupação em tempo real", description = "Stream text/event-stream com a ocupação atual, " +
+            "seguida de um evento 'ocupacao' a cada janela com mudanças de status, contendo a nova ocupação e o status " +
+            "das vagas alteradas. Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Stream aberto com sucesso",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = VagaPainelResponseDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @GetMapping(value = "/painel", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Flux<ServerSentEvent<VagaPainelResponseDto>> getPainel () {
+
+        return vagaPainelPublisher.assinar();
+    }
+
+    @Operation(summary = "Recuperar lista de vagas", description = "Recurso para listar vagas em ordem de código, com filtros " +
+            "opcionais de status e prefixo do código. A paginação é por keyset: envie o 'next' da página anterior no parâmetro 'after'. " +
+            "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "status", description = "Filtra pelo status da vaga (LIVRE, OCUPADA ou RESERVADA)"),
+                    @Parameter(in = QUERY, name = "prefixo", description = "Filtra pelo início do código, ex.: 'A-'"),
+                    @Parameter(in = QUERY, name = "after", description = "Código a partir do qual a página começa (exclusivo)"),
+                    @Parameter(in = QUERY, name = "size",
+                            content = @Content(schema = @Schema(type = "integer", defaultValue = "20", maximum = "100")),
+                            description = "Representa o total de elementos por página")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso recuperado com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = KeysetPageableDto.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<KeysetPageableDto> getAll (@RequestParam(required = false) Vaga.StatusVaga status,
+                                                     @RequestParam(required = false) String prefixo,
+                                                     @RequestParam(required = false) String after,
+                                                     @RequestParam(defaultValue = "20") int size) {
+
+        int limite = Math.min(Math.max(size, 1), 100);
+        List<Vaga> vagas = vagaService.buscarTodos(status, prefixo, after, limite + 1);
+        return ResponseEntity.ok(KeysetPageableMapper.toDto(vagas, limite, VagaMapper::toListItemDto, Vaga::getCodigo));
+    }
+
     @Operation(summary = "Localizar uma vaga", description = "Recurso para retornar uma vaga pelo seu código" +
             "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
             security = @SecurityRequirement(name = "security"),
@@ -82,4 +211,79 @@ public class VagaController {
         Vaga vaga = vagaService.buscarPorCodigo(codigo);
         return ResponseEntity.ok(VagaMapper.toVagaResponseDto(vaga));
     }
+
+    @Operation(summary = "Alocar uma vaga livre", description = "Recurso para ocupar uma vaga livre e retorná-la, " +
+            "opcionalmente restrita a uma zona, nível ou tipo e escolhida pelo critério informado. " +
+            "Requisições simultâneas nunca recebem a mesma vaga. " +
+            "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "zona", description = "Código da zona onde a vaga deve estar, ex.: 'A'"),
+                    @Parameter(in = QUERY, name = "nivel", description = "Nível onde a vaga deve estar"),
+                    @Parameter(in = QUERY, name = "criterio",
+                            content = @Content(schema = @Schema(type = "string", defaultValue = "QUALQUER",
+                                    allowableValues = {"QUALQUER", "MENOR_CODIGO", "MAIS_PROXIMA"})),
+                            description = "Preferência entre as vagas aceitas: qualquer uma, a de menor código ou a mais próxima da entrada"),
+                    @Parameter(in = QUERY, name = "tipo", description = "Tipo de vaga exigido (COMUM, PCD, IDOSO ou ELETRICO)")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Vaga alocada com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = VagaResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Nenhuma vaga livre disponível ou zona não localizada",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @PostMapping("/alocar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VagaResponseDto> alocar (@RequestParam(required = false) String zona,
+                                                   @RequestParam(required = false) Integer nivel,
+                                                   @RequestParam(defaultValue = "QUALQUER") PreferenciaAlocacao.Criterio criterio,
+                                                   @RequestParam(required = false) Vaga.TipoVaga tipo) {
+
+        Vaga vaga = vagaService.alocar(new PreferenciaAlocacao(zona, nivel, criterio, tipo));
+        return ResponseEntity.ok(VagaMapper.toVagaResponseDto(vaga));
+    }
+
+    @Operation(summary = "Reservar uma vaga livre", description = "Recurso para reservar uma vaga livre por um tempo limitado, " +
+            "opcionalmente restrita a uma zona, nível ou tipo e escolhida pelo critério informado. " +
+            "A reserva pertence ao usuário que a fez e só é usada no check-in de um cliente desse usuário, " +
+            "informando a vaga; se não for usada até 'reservadaAte', a vaga volta a ficar livre. " +
+            "Cada usuário mantém um número limitado de reservas ativas. Requisição exige uso de um bearer token.",
+            security = @SecurityRequirement(name = "security"),
+            parameters = {
+                    @Parameter(in = QUERY, name = "zona", description = "Código da zona onde a vaga deve estar, ex.: 'A'"),
+                    @Parameter(in = QUERY, name = "nivel", description = "Nível onde a vaga deve estar"),
+                    @Parameter(in = QUERY, name = "criterio",
+                            content = @Content(schema = @Schema(type = "string", defaultValue = "QUALQUER",
+                                    allowableValues = {"QUALQUER", "MENOR_CODIGO", "MAIS_PROXIMA"})),
+                            description = "Preferência entre as vagas aceitas: qualquer uma, a de menor código ou a mais próxima da entrada"),
+                    @Parameter(in = QUERY, name = "tipo", description = "Tipo de vaga exigido (COMUM, PCD, IDOSO ou ELETRICO)")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Vaga reservada com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = VagaResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Nenhuma vaga livre disponível ou zona não localizada",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "409", description = "Usuário já atingiu o limite de reservas ativas",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PostMapping("/reservar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CLIENTE')")
+    public ResponseEntity<VagaResponseDto> reservar (@RequestParam(required = false) String zona,
+                                                     @RequestParam(required = false) Integer nivel,
+                                                     @RequestParam(defaultValue = "QUALQUER") PreferenciaAlocacao.Criterio criterio,
+                                                     @RequestParam(required = false) Vaga.TipoVaga tipo,
+                                                     @AuthenticationPrincipal JwtUserDetails user) {
+
+        Vaga vaga = vagaService.reservar(new PreferenciaAlocacao(zona, nivel, criterio, tipo), user.getId());
+        return ResponseEntity.ok(VagaMapper.toVagaResponseDto(vaga));
+    }
 }
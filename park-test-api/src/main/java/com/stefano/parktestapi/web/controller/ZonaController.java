@@ -0,0 +1,105 @@
+package com.stefano.parktestapi.web.controller;
+
+import com.stefano.parktestapi.entity.Zona;
+import com.stefano.parktestapi.service.ZonaService;
+import com.stefano.parktestapi.web.dto.ZonaCreateDto;
+import com.stefano.parktestapi.web.dto.ZonaResponseDto;
+import com.stefano.parktestapi.web.dto.mapper.ZonaMapper;
+import com.stefano.parktestapi.web.exception.ErrorMessage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/zonas")
+public class ZonaController {
+
+    private final ZonaService zonaService;
+
+    @Operation(summary = "Criar uma nova zona", description = "Recurso para criar uma nova zona de um nível do estacionamento. " +
+            "Vagas já cadastradas cujo código começa com o código da zona, como 'A-01' para a zona 'A', passam a pertencer a ela. " +
+            "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Recurso criado com sucesso",
+                            headers = @Header(name = HttpHeaders.LOCATION, description = "URL do recurso criado")),
+                    @ApiResponse(responseCode = "409", description = "Zona já cadastrada",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "422", description = "Recurso não processado por falta de dados ou dados inválidos",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> create (@RequestBody @Valid ZonaCreateDto dto) {
+
+        Zona zona = zonaService.salvar(ZonaMapper.toZona(dto));
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequestUri().path("/{codigo}")
+                .buildAndExpand(zona.getCodigo())
+                .toUri();
+
+        return ResponseEntity.created(location).build();
+    }
+
+    @Operation(summary = "Recuperar lista de zonas", description = "Recurso para listar as zonas, ordenadas por nível e código. " +
+            "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso recuperado com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    array = @ArraySchema(schema = @Schema(implementation = ZonaResponseDto.class)))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ZonaResponseDto>> getAll () {
+
+        return ResponseEntity.ok(ZonaMapper.toListDto(zonaService.buscarTodos()));
+    }
+
+    @Operation(summary = "Localizar uma zona", description = "Recurso para retornar uma zona pelo seu código. " +
+            "Requisição exige uso de um bearer token. Acesso restrito a Role='ADMIN'",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Recurso recuperado com sucesso",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ZonaResponseDto.class))),
+                    @ApiResponse(responseCode = "404", description = "Zona não localizada",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Recurso não permito ao perfil de CLIENTE",
+                            content = @Content(mediaType = " application/json;charset=UTF-8",
+                                    schema = @Schema(implementation = ErrorMessage.class))
+                    )
+            })
+    @GetMapping("/{codigo}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ZonaResponseDto> getByCodigo (@PathVariable String codigo) {
+
+        return ResponseEntity.ok(ZonaMapper.toDto(zonaService.buscarPorCodigo(codigo)));
+    }
+}
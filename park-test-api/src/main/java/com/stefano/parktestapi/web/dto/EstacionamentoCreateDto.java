@@ -0,0 +1,31 @@
+package com.stefano.parktestapi.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.validator.constraints.br.CPF;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class EstacionamentoCreateDto {
+
+    @NotBlank
+    @Size(min = 7, max = 8)
+    @Pattern(regexp = "[A-Z]{3}-?[0-9][A-Z0-9][0-9]{2}", message = "A placa do veículo deve seguir o padrão 'XXX-0000' ou 'XXX0X00'")
+    private String placa;
+    @NotBlank
+    private String marca;
+    @NotBlank
+    private String modelo;
+    @NotBlank
+    private String cor;
+    @NotBlank
+    @Size(min = 11, max = 11)
+    @CPF
+    private String clienteCpf;
+    @Size(min = 4, max = 4)
+    private String vagaReservada;
+}
@@ -0,0 +1,27 @@
+package com.stefano.parktestapi.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EstacionamentoResponseDto {
+
+    private String placa;
+    private String marca;
+    private String modelo;
+    private String cor;
+    private String clienteCpf;
+    private String recibo;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime dataEntrada;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime dataSaida;
+    private String vagaCodigo;
+}
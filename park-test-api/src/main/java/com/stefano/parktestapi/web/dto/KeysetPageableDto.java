@@ -0,0 +1,22 @@
+package com.stefano.parktestapi.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Página de uma listagem por keyset: para a próxima página, envie {@code next} no parâmetro {@code after}.
+ */
+@Getter @Setter
+public class KeysetPageableDto {
+
+    private List content = new ArrayList<>();
+    private boolean last;
+    @JsonProperty("pageElements")
+    private int numberOfElements;
+    private int size;
+    private String next;
+}
@@ -0,0 +1,11 @@
+package com.stefano.parktestapi.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class RefreshTokenDto {
+
+    @NotBlank
+    private String refreshToken;
+}
@@ -0,0 +1,24 @@
+package com.stefano.parktestapi.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Página sem totais: {@code last} indica se existe uma próxima página.
+ */
+@Getter @Setter
+public class SliceDto {
+
+    private List content = new ArrayList<>();
+    private boolean first;
+    private boolean last;
+    @JsonProperty("pageNumber")
+    private int number;
+    @JsonProperty("pageElements")
+    private int numberOfElements;
+    private int size;
+}
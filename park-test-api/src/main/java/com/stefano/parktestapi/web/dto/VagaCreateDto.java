@@ -2,6 +2,7 @@ package com.stefano.parktestapi.web.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -17,4 +18,8 @@ public class VagaCreateDto {
     @NotBlank
     @Pattern(regexp = "LIVRE|OCUPADA")
     private String status;
+    @Pattern(regexp = "COMUM|PCD|IDOSO|ELETRICO")
+    private String tipo;
+    @PositiveOrZero
+    private Integer distancia;
 }
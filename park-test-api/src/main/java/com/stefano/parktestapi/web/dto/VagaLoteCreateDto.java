@@ -0,0 +1,50 @@
+package com.stefano.parktestapi.web.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class VagaLoteCreateDto {
+
+    @Size(max = 10000)
+    private List<@NotBlank @Size(min = 4, max = 4) String> codigos;
+    @Pattern(regexp = "[A-Z]*-?\\d+\\.\\.[A-Z]*-?\\d+", message = "O intervalo deve seguir o padrão 'A-01..A-99'")
+    private String intervalo;
+    @NotBlank
+    @Pattern(regexp = "LIVRE|OCUPADA")
+    private String status;
+
+    @AssertTrue(message = "Informe os códigos ou o intervalo das vagas")
+    public boolean isCodigosOuIntervaloInformado() {
+        return (codigos != null && !codigos.isEmpty()) != (intervalo != null && !intervalo.isBlank());
+    }
+
+    @AssertTrue(message = "O intervalo deve ter o mesmo prefixo, a mesma quantidade de dígitos e códigos de 4 caracteres")
+    public boolean isIntervaloValido() {
+        int separador = intervalo != null ? intervalo.indexOf("..") : -1;
+        if (separador < 0) {
+            return true;
+        }
+        String inicio = intervalo.substring(0, separador);
+        String fim = intervalo.substring(separador + 2);
+        return inicio.length() == 4 && fim.length() == 4
+                && prefixo(inicio).equals(prefixo(fim))
+                && inicio.compareTo(fim) <= 0;
+    }
+
+    private static String prefixo(String codigo) {
+        int i = codigo.length();
+        while (i > 0 && Character.isDigit(codigo.charAt(i - 1))) {
+            i--;
+        }
+        return codigo.substring(0, i);
+    }
+}
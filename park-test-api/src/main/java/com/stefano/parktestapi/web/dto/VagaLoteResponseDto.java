@@ -0,0 +1,15 @@
+package com.stefano.parktestapi.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class VagaLoteResponseDto {
+
+    private int criadas;
+    private List<String> duplicadas;
+}
@@ -0,0 +1,15 @@
+package com.stefano.parktestapi.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class VagaPainelResponseDto {
+
+    private VagaOcupacaoResponseDto ocupacao;
+    private Map<Long, String> vagas;
+}
@@ -0,0 +1,23 @@
+package com.stefano.parktestapi.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class ZonaCreateDto {
+
+    @NotBlank
+    @Pattern(regexp = "[A-Z]{1,3}")
+    private String codigo;
+    @NotBlank
+    @Size(max = 45)
+    private String nome;
+    @NotNull
+    private Integer nivel;
+}
@@ -0,0 +1,15 @@
+package com.stefano.parktestapi.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ZonaResponseDto {
+
+    private Long id;
+    private String codigo;
+    private String nome;
+    private Integer nivel;
+}
@@ -0,0 +1,87 @@
+package com.stefano.parktestapi.web.dto.mapper;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.stefano.parktestapi.repository.projection.ClienteProjection;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Escreve clientes linha a linha, à medida que são lidos, sem montar a resposta em memória.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ClienteExportacaoMapper {
+
+    private static final JsonFactory JSON = new JsonFactoryBuilder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .rootValueSeparator((String) null)
+            .build();
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Formato {
+        NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8), "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extensao;
+    }
+
+    /**
+     * Escreve em {@code writer} cada cliente que {@code exportar} entregar ao consumidor recebido.
+     */
+    public static void escrever(Formato formato, Writer writer, Consumer<Consumer<ClienteProjection>> exportar) throws IOException {
+        if (formato == Formato.CSV) {
+            writer.write("id,nome,cpf\n");
+            exportar.accept(cliente -> escreverCsv(writer, cliente));
+            return;
+        }
+        try (JsonGenerator json = JSON.createGenerator(writer)) {
+            exportar.accept(cliente -> escreverJson(json, cliente));
+        }
+    }
+
+    private static void escreverCsv(Writer writer, ClienteProjection cliente) {
+        try {
+            writer.write(String.valueOf(cliente.getId()));
+            writer.write(',');
+            writer.write(csv(cliente.getNome()));
+            writer.write(',');
+            writer.write(cliente.getCpf());
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void escreverJson(JsonGenerator json, ClienteProjection cliente) {
+        try {
+            json.writeStartObject();
+            json.writeNumberField("id", cliente.getId());
+            json.writeStringField("nome", cliente.getNome());
+            json.writeStringField("cpf", cliente.getCpf());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String csv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,6 +1,7 @@
 package com.stefano.parktestapi.web.dto.mapper;
 
 import com.stefano.parktestapi.entity.Cliente;
+import com.stefano.parktestapi.repository.projection.ClienteProjection;
 import com.stefano.parktestapi.web.dto.ClienteCreateDto;
 import com.stefano.parktestapi.web.dto.ClienteResponseDto;
 import lombok.AccessLevel;
@@ -17,4 +18,8 @@ public class ClienteMapper {
     public static ClienteResponseDto toDto(Cliente cliente) {
         return new ModelMapper().map(cliente, ClienteResponseDto.class);
     }
+
+    public static ClienteResponseDto toDto(ClienteProjection cliente) {
+        return new ClienteResponseDto(cliente.getId(), cliente.getNome(), cliente.getCpf());
+    }
 }
\ No newline at end of file
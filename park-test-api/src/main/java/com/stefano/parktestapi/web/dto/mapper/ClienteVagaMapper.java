@@ -0,0 +1,25 @@
+package com.stefano.parktestapi.web.dto.mapper;
+
+import com.stefano.parktestapi.entity.ClienteVaga;
+import com.stefano.parktestapi.web.dto.EstacionamentoCreateDto;
+import com.stefano.parktestapi.web.dto.EstacionamentoResponseDto;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.modelmapper.ModelMapper;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ClienteVagaMapper {
+
+    public static ClienteVaga toClienteVaga(EstacionamentoCreateDto dto) {
+        ClienteVaga clienteVaga = new ClienteVaga();
+        clienteVaga.setPlaca(dto.getPlaca());
+        clienteVaga.setMarca(dto.getMarca());
+        clienteVaga.setModelo(dto.getModelo());
+        clienteVaga.setCor(dto.getCor());
+        return clienteVaga;
+    }
+
+    public static EstacionamentoResponseDto toDto(ClienteVaga clienteVaga) {
+        return new ModelMapper().map(clienteVaga, EstacionamentoResponseDto.class);
+    }
+}
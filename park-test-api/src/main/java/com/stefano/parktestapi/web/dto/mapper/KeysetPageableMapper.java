@@ -0,0 +1,27 @@
+package com.stefano.parktestapi.web.dto.mapper;
+
+import com.stefano.parktestapi.web.dto.KeysetPageableDto;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class KeysetPageableMapper {
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code size + 1} registros: o registro extra
+     * apenas indica que existe uma próxima página e não é devolvido.
+     */
+    public static <T> KeysetPageableDto toDto(List<T> resultado, int size, Function<T, ?> conteudo, Function<T, String> chave) {
+        KeysetPageableDto dto = new KeysetPageableDto();
+        List<T> pagina = resultado.size() > size ? resultado.subList(0, size) : resultado;
+        dto.setContent(pagina.stream().map(conteudo).toList());
+        dto.setLast(resultado.size() <= size);
+        dto.setNumberOfElements(pagina.size());
+        dto.setSize(size);
+        dto.setNext(dto.isLast() || pagina.isEmpty() ? null : chave.apply(pagina.get(pagina.size() - 1)));
+        return dto;
+    }
+}
@@ -1,10 +1,12 @@
 package com.stefano.parktestapi.web.dto.mapper;
 
 import com.stefano.parktestapi.web.dto.PageableDto;
+import com.stefano.parktestapi.web.dto.SliceDto;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class PageableMapper {
@@ -12,4 +14,8 @@ public class PageableMapper {
         return new ModelMapper().map(page, PageableDto.class);
     }
 
+    public static SliceDto toSliceDto(Slice slice) {
+        return new ModelMapper().map(slice, SliceDto.class);
+    }
+
 }
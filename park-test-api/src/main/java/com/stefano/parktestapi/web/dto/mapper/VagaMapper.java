@@ -2,14 +2,25 @@ package com.stefano.parktestapi.web.dto.mapper;
 
 import com.stefano.parktestapi.entity.Vaga;
 import com.stefano.parktestapi.web.dto.VagaCreateDto;
+import com.stefano.parktestapi.web.dto.VagaLoteCreateDto;
+import com.stefano.parktestapi.web.dto.VagaOcupacaoResponseDto;
 import com.stefano.parktestapi.web.dto.VagaResponseDto;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.modelmapper.ModelMapper;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class VagaMapper {
 
+    private static final Pattern INTERVALO = Pattern.compile("([A-Z]*-?)(\\d+)\\.\\.([A-Z]*-?)(\\d+)");
+
     public static Vaga toVaga(VagaCreateDto vagaCreateDto) {
         return new ModelMapper().map(vagaCreateDto, Vaga.class);
     }
@@ -18,4 +29,43 @@ public class VagaMapper {
         return new ModelMapper().map(vaga, VagaResponseDto.class);
     }
 
+    /**
+     * Conversão direta, sem ModelMapper, para listagens.
+     */
+    public static VagaResponseDto toListItemDto(Vaga vaga) {
+        return new VagaResponseDto(vaga.getId(), vaga.getCodigo(), vaga.getStatusVaga().name(),
+                vaga.getTipo() != null ? vaga.getTipo().name() : null, vaga.getDistancia(), vaga.getReservadaAte());
+    }
+
+    public static VagaOcupacaoResponseDto toOcupacaoDto(Map<Vaga.StatusVaga, Long> ocupacao) {
+        Map<String, Long> status = new LinkedHashMap<>();
+        long total = 0;
+        for (Map.Entry<Vaga.StatusVaga, Long> entry : ocupacao.entrySet()) {
+            status.put(entry.getKey().name(), entry.getValue());
+            total += entry.getValue();
+        }
+        return new VagaOcupacaoResponseDto(total, status);
+    }
+
+    /**
+     * Devolve os códigos informados ou, para um intervalo como {@code A-01..A-99}, todos os códigos do intervalo.
+     */
+    public static List<String> toCodigos(VagaLoteCreateDto dto) {
+        if (dto.getIntervalo() == null || dto.getIntervalo().isBlank()) {
+            return dto.getCodigos();
+        }
+        Matcher m = INTERVALO.matcher(dto.getIntervalo());
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Intervalo inválido: " + dto.getIntervalo());
+        }
+        String prefixo = m.group(1);
+        String formato = prefixo + "%0" + m.group(2).length() + "d";
+        int inicio = Integer.parseInt(m.group(2));
+        int fim = Integer.parseInt(m.group(4));
+        List<String> codigos = new ArrayList<>(fim - inicio + 1);
+        for (int n = inicio; n <= fim; n++) {
+            codigos.add(String.format(formato, n));
+        }
+        return codigos;
+    }
 }
@@ -0,0 +1,26 @@
+package com.stefano.parktestapi.web.dto.mapper;
+
+import com.stefano.parktestapi.entity.Zona;
+import com.stefano.parktestapi.web.dto.ZonaCreateDto;
+import com.stefano.parktestapi.web.dto.ZonaResponseDto;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ZonaMapper {
+
+    public static Zona toZona(ZonaCreateDto dto) {
+        return new ModelMapper().map(dto, Zona.class);
+    }
+
+    public static ZonaResponseDto toDto(Zona zona) {
+        return new ZonaResponseDto(zona.getId(), zona.getCodigo(), zona.getNome(), zona.getNivel());
+    }
+
+    public static List<ZonaResponseDto> toListDto(List<Zona> zonas) {
+        return zonas.stream().map(ZonaMapper::toDto).toList();
+    }
+}
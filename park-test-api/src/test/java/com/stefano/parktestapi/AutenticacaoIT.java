@@ -1,11 +1,21 @@
 package com.stefano.parktestapi;
 
 import com.stefano.parktestapi.jwt.JwtToken;
+import com.stefano.parktestapi.jwt.TokenEpochRegistry;
+import com.stefano.parktestapi.service.event.UsuarioAlteradoEvent;
+import com.stefano.parktestapi.web.dto.RefreshTokenDto;
 import com.stefano.parktestapi.web.dto.UsuarioLoginDto;
 import com.stefano.parktestapi.web.exception.ErrorMessage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -19,6 +29,23 @@ public class AutenticacaoIT {
 
     @Autowired
     WebTestClient testClient;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    @Autowired
+    TokenEpochRegistry tokenEpochRegistry;
+
+    @BeforeEach
+    @AfterEach
+    public void recarregarUsuarios() {
+        // as massas são recriadas a cada teste: descarta senhas e épocas de token que ficaram em memória,
+        // inclusive ao final, para que as classes seguintes não vejam a época incrementada pelo logout
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(100L, "romeo@test.com"));
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(101L, "peto@test.com"));
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(102L, "riri@test.com"));
+        tokenEpochRegistry.invalidar();
+    }
 
     @Test
     public void autenticar_CredenciaisValidas_RetornarTokenStatus200() {
@@ -35,6 +62,99 @@ public class AutenticacaoIT {
         assertThat(responseBody).isNotNull();
     }
 
+    @Test
+    public void autenticar_CredenciaisValidas_ExecutarUmaUnicaConsulta() {
+        // descarta o usuário e as épocas dos caches: o evento recarrega a época, que é descartada em seguida
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(101L, "peto@test.com"));
+        tokenEpochRegistry.invalidar();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UsuarioLoginDto("peto@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // uma consulta pelo username, que já traz a época do token, e o insert do refresh token
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void renovarToken_RefreshTokenValido_RetornarNovoTokenStatus200() {
+        JwtToken login = testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UsuarioLoginDto("peto@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JwtToken.class)
+                .returnResult().getResponseBody();
+
+        assertThat(login).isNotNull();
+        assertThat(login.getRefreshToken()).isNotBlank();
+
+        JwtToken renovado = testClient
+                .post()
+                .uri("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenDto(login.getRefreshToken()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JwtToken.class)
+                .returnResult().getResponseBody();
+
+        assertThat(renovado).isNotNull();
+        assertThat(renovado.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+
+        testClient
+                .get()
+                .uri("/api/v1/usuarios/101")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + renovado.getToken())
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void renovarToken_RefreshTokenReutilizado_RetornarErrorMessageStatus400() {
+        JwtToken login = testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UsuarioLoginDto("peto@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JwtToken.class)
+                .returnResult().getResponseBody();
+
+        assertThat(login).isNotNull();
+
+        testClient
+                .post()
+                .uri("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenDto(login.getRefreshToken()))
+                .exchange()
+                .expectStatus().isOk();
+
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenDto(login.getRefreshToken()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(400);
+    }
+
     @Test
     public void autenticar_CredenciaisInvalidas_RetornarErrorMessageStatus400() {
         ErrorMessage responseBody = testClient
@@ -147,4 +267,74 @@ public class AutenticacaoIT {
         assertThat(responseBody).isNotNull();
         assertThat(responseBody.getStatus()).isEqualTo(422);
     }
+
+    @Test
+    public void acessarRecurso_TokenAdulterado_RetornarStatus401() {
+        JwtToken responseBody = testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UsuarioLoginDto("romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JwtToken.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        String token = responseBody.getToken();
+        int index = token.lastIndexOf('.') + 10;
+        char adulterado = token.charAt(index) == 'A' ? 'B' : 'A';
+        String tokenAdulterado = token.substring(0, index) + adulterado + token.substring(index + 1);
+
+        testClient
+                .get()
+                .uri("/api/v1/usuarios/100")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenAdulterado)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    public void logout_TokenAnterior_RetornarStatus401() {
+        JwtToken login = testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UsuarioLoginDto("riri@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JwtToken.class)
+                .returnResult().getResponseBody();
+
+        assertThat(login).isNotNull();
+
+        testClient
+                .post()
+                .uri("/api/v1/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.getToken())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        testClient
+                .get()
+                .uri("/api/v1/usuarios/102")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.getToken())
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        testClient
+                .post()
+                .uri("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenDto(login.getRefreshToken()))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        testClient
+                .get()
+                .uri("/api/v1/usuarios/102")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "riri@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+    }
 }
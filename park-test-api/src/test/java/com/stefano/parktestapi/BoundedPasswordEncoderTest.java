@@ -0,0 +1,82 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.exception.PasswordEncoderBusyException;
+import com.stefano.parktestapi.security.BoundedPasswordEncoder;
+import com.stefano.parktestapi.web.exception.ApiExceptionHandler;
+import com.stefano.parktestapi.web.exception.ErrorMessage;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BoundedPasswordEncoderTest {
+
+    @Test
+    public void encode_PoolEFilaOcupados_LancaBusyEResponde503ComRetryAfter() throws Exception {
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new EncoderBloqueado(iniciou, liberar), 1, 1, 7);
+        try {
+            CompletableFuture<String> emExecucao = CompletableFuture.supplyAsync(() -> encoder.encode("senha-1"));
+            Assertions.assertThat(iniciou.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> encoder.encode("senha-2"));
+            aguardarFila(encoder, 1);
+
+            PasswordEncoderBusyException ex = assertThrows(
+                    PasswordEncoderBusyException.class, () -> encoder.encode("senha-3"));
+            Assertions.assertThat(ex.getRetryAfterSeconds()).isEqualTo(7);
+
+            ResponseEntity<ErrorMessage> response = new ApiExceptionHandler()
+                    .passwordEncoderBusyException(ex, new MockHttpServletRequest("POST", "/api/v1/auth"));
+            Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            Assertions.assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+            Assertions.assertThat(response.getBody()).isNotNull();
+            Assertions.assertThat(response.getBody().getStatus()).isEqualTo(503);
+
+            liberar.countDown();
+            Assertions.assertThat(emExecucao.get(5, TimeUnit.SECONDS)).isEqualTo("hash:senha-1");
+            Assertions.assertThat(naFila.get(5, TimeUnit.SECONDS)).isEqualTo("hash:senha-2");
+        } finally {
+            liberar.countDown();
+            encoder.destroy();
+        }
+    }
+
+    private static void aguardarFila(BoundedPasswordEncoder encoder, int tamanho) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) encoder.getExecutor();
+        while (executor.getQueue().size() < tamanho && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        Assertions.assertThat(executor.getQueue()).hasSize(tamanho);
+    }
+
+    private record EncoderBloqueado(CountDownLatch iniciou, CountDownLatch liberar) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            iniciou.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
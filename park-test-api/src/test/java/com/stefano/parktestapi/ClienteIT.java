@@ -2,16 +2,43 @@ package com.stefano.parktestapi;
 
 import com.stefano.parktestapi.web.dto.ClienteCreateDto;
 import com.stefano.parktestapi.web.dto.ClienteResponseDto;
+import com.stefano.parktestapi.web.dto.KeysetPageableDto;
 import com.stefano.parktestapi.web.dto.PageableDto;
 import com.stefano.parktestapi.web.exception.ErrorMessage;
+import com.stefano.parktestapi.service.ClienteContagemCache;
+import com.stefano.parktestapi.service.ClienteNomeBuscaCarga;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.Filter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(scripts = "/sql/clientes/clientes-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
@@ -20,6 +47,25 @@ public class ClienteIT {
 
     @Autowired
     WebTestClient testClient;
+    @Autowired
+    WebApplicationContext context;
+    @Autowired
+    Filter springSecurityFilterChain;
+    @LocalServerPort
+    int port;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    ClienteContagemCache clienteContagemCache;
+    @Autowired
+    ClienteNomeBuscaCarga clienteNomeBuscaCarga;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void limparContagem() {
+        clienteContagemCache.invalidar();
+    }
 
     @Test
     public void criarCliente_DadosValidos_RetornarStatus201() {
@@ -139,6 +185,26 @@ public class ClienteIT {
         assertThat(responseBody.getId()).isEqualTo(10);
     }
 
+    @Test
+    public void buscarCliente_IdExistenteComAdmin_NaoCarregarUsuario() {
+
+        Consumer<HttpHeaders> autorizacao = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        testClient
+                .get()
+                .uri("/api/v1/clientes/10")
+                .headers(autorizacao)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nome").isEqualTo("Peto Stefano");
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
     @Test
     public void buscarCliente_IdInexistenteComAdmin_RetornarStatus404() {
 
@@ -202,6 +268,257 @@ public class ClienteIT {
         assertThat(responseBody.getNumber()).isEqualTo(1);
         assertThat(responseBody.getTotalPages()).isEqualTo(2);
     }
+
+    @Test
+    public void buscarClientes_AposCadastro_RetornarTotalAtualizadoStatus200() {
+
+        PageableDto responseBody = testClient
+                .get()
+                .uri("/api/v1/clientes?size=1")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PageableDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getTotalPages()).isEqualTo(2);
+
+        testClient
+                .post()
+                .uri("/api/v1/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "lennon@test.com", "123456"))
+                .bodyValue(new ClienteCreateDto("Lennon Stefano", "65553763096"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        responseBody = testClient
+                .get()
+                .uri("/api/v1/clientes?size=1")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(PageableDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getTotalPages()).isEqualTo(3);
+    }
+    @Test
+    public void buscarClientes_SemTotalPeloAdmin_RetornarPaginaSemContagemStatus200() {
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        testClient
+                .get()
+                .uri("/api/v1/clientes?size=1&count=false")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].nome").isEqualTo("Peto Stefano")
+                .jsonPath("$.first").isEqualTo(true)
+                .jsonPath("$.last").isEqualTo(false)
+                .jsonPath("$.totalElements").doesNotExist()
+                .jsonPath("$.totalPages").doesNotExist();
+
+        assertThat(statistics.getQueries()).noneMatch(q -> q.contains("count("));
+
+        testClient
+                .get()
+                .uri("/api/v1/clientes?size=1&page=1&count=false")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].nome").isEqualTo("Riri Stefano")
+                .jsonPath("$.last").isEqualTo(true);
+    }
+
+    @Test
+    public void buscarClientesPorTermo_NomeSemAcentoECpfParcial_RetornarClientesStatus200() {
+
+        testClient
+                .post()
+                .uri("/api/v1/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "lennon@test.com", "123456"))
+                .bodyValue(new ClienteCreateDto("João Lennon", "65553763096"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        testClient
+                .get()
+                .uri("/api/v1/clientes/busca?q=JOAO")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].nome").isEqualTo("João Lennon");
+
+        testClient
+                .get()
+                .uri("/api/v1/clientes/busca?q=405.910")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].cpf").isEqualTo("40591050072");
+
+        testClient
+                .get()
+                .uri("/api/v1/clientes/busca?q=stefano")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+    }
+
+    @Test
+    public void buscarClientesPorTermo_ClientesSemNomeBuscaAposPreenchimento_RetornarClientesStatus200() {
+
+        clienteNomeBuscaCarga.preencher();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from clientes where nome_busca is null", Integer.class)).isZero();
+
+        testClient
+                .get()
+                .uri("/api/v1/clientes/busca?q=peto")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].nome").isEqualTo("Peto Stefano");
+
+        testClient
+                .get()
+                .uri("/api/v1/clientes/busca?q=RIRI ST")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].nome").isEqualTo("Riri Stefano");
+    }
+
+    @Test
+    public void buscarClientesPorTermo_TermoSemDigitosOuLongo_RetornarListaVaziaStatus200() {
+
+        testClient
+                .get()
+                .uri("/api/v1/clientes/busca?q={q}", ".-.")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+
+        testClient
+                .get()
+                .uri("/api/v1/clientes/busca?q={q}", "4".repeat(101))
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+    }
+
+    @Test
+    public void buscarClientes_PaginacaoPorCursorPeloAdmin_RetornarClientesStatus200() {
+
+        KeysetPageableDto responseBody = testClient
+                .get()
+                .uri("/api/v1/clientes?size=1&after=")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(KeysetPageableDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getContent().size()).isEqualTo(1);
+        assertThat(responseBody.getContent().get(0).toString()).contains("Peto Stefano");
+        assertThat(responseBody.isLast()).isFalse();
+        assertThat(responseBody.getNext()).isNotBlank();
+
+        responseBody = testClient
+                .get()
+                .uri("/api/v1/clientes?size=1&after={after}", responseBody.getNext())
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(KeysetPageableDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getContent().size()).isEqualTo(1);
+        assertThat(responseBody.getContent().get(0).toString()).contains("Riri Stefano");
+        assertThat(responseBody.isLast()).isTrue();
+        assertThat(responseBody.getNext()).isNull();
+    }
+
+    @Test
+    public void buscarClientes_CursorInvalido_RetornarErrorMessageStatus400() {
+
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/clientes?after=invalido")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(400);
+    }
+
+    @Test
+    public void exportarClientes_FormatoNdjson_RetornarUmaLinhaPorClienteStatus200() {
+
+        String responseBody = testClient
+                .get()
+                .uri("/api/v1/clientes/exportacao")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith("application/x-ndjson")
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isEqualTo(
+                "{\"id\":10,\"nome\":\"Peto Stefano\",\"cpf\":\"40591050072\"}\n" +
+                "{\"id\":20,\"nome\":\"Riri Stefano\",\"cpf\":\"71490768076\"}\n");
+    }
+
+    @Test
+    public void exportarClientes_FormatoCsvComGzip_RetornarArquivoComprimidoStatus200() throws IOException, InterruptedException {
+
+        // O WebTestClient descomprime a resposta; a requisição é feita sem ele para ler os bytes enviados
+        HttpHeaders autorizacao = new HttpHeaders();
+        JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456").accept(autorizacao);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/clientes/exportacao?formato=CSV&gzip=true"))
+                .header(HttpHeaders.AUTHORIZATION, autorizacao.getFirst(HttpHeaders.AUTHORIZATION))
+                .build();
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValueSatisfying(v -> assertThat(v).startsWith("text/csv"));
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        try (GZIPInputStream csv = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertThat(new String(csv.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(
+                    "id,nome,cpf\n10,Peto Stefano,40591050072\n20,Riri Stefano,71490768076\n");
+        }
+    }
+
     @Test
     public void buscarClientes_PaginacaoPeloCliente_RetornarClientesStatus403() {
 
@@ -218,6 +535,20 @@ public class ClienteIT {
         assertThat(responseBody.getStatus()).isEqualTo(403);
     }
 
+    @Test
+    public void exportarClientes_RespostaAssincrona_UsarTimeoutDaExportacao() throws Exception {
+
+        HttpHeaders autorizacao = new HttpHeaders();
+        JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456").accept(autorizacao);
+
+        // O MockMvc não despacha a resposta assíncrona, mas registra o timeout com que ela foi iniciada
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+        MvcResult result = mockMvc.perform(get("/api/v1/clientes/exportacao").headers(autorizacao)).andReturn();
+
+        assertThat(result.getRequest().isAsyncStarted()).isTrue();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofHours(2).toMillis());
+    }
+
     @Test
     public void buscarDetalheCliente_DadosDoTokenDeCliente_RetornarDetalheClienteStatus200() {
 
@@ -236,6 +567,22 @@ public class ClienteIT {
         assertThat(responseBody.getId()).isEqualTo(20);
     }
 
+    @Test
+    public void buscarDetalheCliente_UsuarioSemCliente_RetornarErrorMessageStatus404() {
+
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/clientes/detalhes")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "lennon@test.com", "123456"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getStatus()).isEqualTo(404);
+    }
+
     @Test
     public void buscarDetalheCliente_DadosDoAdmin_RetornarErrorMessageStatus403() {
 
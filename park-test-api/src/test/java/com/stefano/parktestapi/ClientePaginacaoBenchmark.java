@@ -0,0 +1,79 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.service.ClienteCursor;
+import com.stefano.parktestapi.service.ClienteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de uma página de clientes em ordem de nome, por profundidade na listagem, no H2 dos testes: offset
+ * ({@link ClienteService#buscarTodosSemTotal}) contra keyset ({@link ClienteService#buscarTodos(ClienteCursor, int)}).
+ * O offset percorre todas as linhas anteriores; o keyset deve custar o mesmo em qualquer profundidade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientePaginacaoBenchmark {
+
+    private static final int CLIENTES = 100_000;
+    private static final int TAMANHO = 20;
+    private static final long PRIMEIRO_ID = 1_000L;
+
+    @Param({"0", "1000", "10000", "50000", "99000"})
+    private int profundidade;
+
+    private ConfigurableApplicationContext context;
+    private ClienteService clienteService;
+    private PageRequest pagina;
+    private ClienteCursor cursor;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(ParkTestApiApplication.class)
+                .run("--server.port=0", "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false");
+        clienteService = context.getBean(ClienteService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> usuarios = new ArrayList<>(CLIENTES);
+        List<Object[]> clientes = new ArrayList<>(CLIENTES);
+        for (int i = 0; i < CLIENTES; i++) {
+            long id = PRIMEIRO_ID + i;
+            usuarios.add(new Object[]{id, "cliente" + i + "@test.com", "-", "ROLE_CLIENTE"});
+            clientes.add(new Object[]{id, String.format("Cliente %06d", (i * 7919L) % CLIENTES), String.format("%011d", i), id});
+        }
+        jdbcTemplate.batchUpdate("insert into usuarios (id, username, password, role) values (?, ?, ?, ?)", usuarios);
+        jdbcTemplate.batchUpdate("insert into clientes (id, nome, cpf, id_usuario) values (?, ?, ?, ?)", clientes);
+
+        pagina = PageRequest.of(profundidade / TAMANHO, TAMANHO, Sort.by("nome", "id"));
+        if (profundidade > 0) {
+            cursor = jdbcTemplate.queryForObject("select nome, id from clientes order by nome, id limit 1 offset ?",
+                    (rs, n) -> new ClienteCursor(rs.getString("nome"), rs.getLong("id")), profundidade - 1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object offset() {
+        return clienteService.buscarTodosSemTotal(pagina).getContent();
+    }
+
+    @Benchmark
+    public Object keyset() {
+        return clienteService.buscarTodos(cursor, TAMANHO);
+    }
+}
@@ -0,0 +1,297 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.service.VagaCodigoCache;
+import com.stefano.parktestapi.service.VagaLivreIndex;
+import com.stefano.parktestapi.web.dto.EstacionamentoCreateDto;
+import com.stefano.parktestapi.web.dto.EstacionamentoResponseDto;
+import com.stefano.parktestapi.web.dto.VagaResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/estacionamentos/estacionamentos-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/estacionamentos/estacionamentos-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class EstacionamentoIT {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    VagaLivreIndex vagaLivreIndex;
+
+    @Autowired
+    VagaCodigoCache vagaCodigoCache;
+
+    @BeforeEach
+    public void recarregarIndice() {
+        vagaLivreIndex.recarregar();
+        vagaCodigoCache.invalidar();
+    }
+
+    @Test
+    public void criarCheckIn_DadosValidos_RetornarCreatedELocation() {
+
+        EstacionamentoResponseDto responseBody = testClient.post()
+                .uri("/api/v1/estacionamentos/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new EstacionamentoCreateDto("WER-1111", "FIAT", "PALIO 1.0", "AZUL", "40591050072", null))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists(HttpHeaders.LOCATION)
+                .expectBody(EstacionamentoResponseDto.class)
+                .returnResult().getResponseBody();
+
+        assertThat(responseBody).isNotNull();
+        assertThat(responseBody.getPlaca()).isEqualTo("WER-1111");
+        assertThat(responseBody.getClienteCpf()).isEqualTo("40591050072");
+        assertThat(responseBody.getVagaCodigo()).isIn("A-02", "A-03", "A-04", "A-05");
+        assertThat(responseBody.getRecibo()).endsWith(responseBody.getVagaCodigo());
+        assertThat(responseBody.getDataEntrada()).isNotNull();
+        assertThat(responseBody.getDataSaida()).isNull();
+
+        testClient.get()
+                .uri("/api/v1/vagas/{codigo}", responseBody.getVagaCodigo())
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("status").isEqualTo("OCUPADA");
+    }
+
+    @Test
+    public void criarCheckIn_CpfInexistente_RetornarErrorMessageStatus404() {
+
+        testClient.post()
+                .uri("/api/v1/estacionamentos/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new EstacionamentoCreateDto("WER-1111", "FIAT", "PALIO 1.0", "AZUL", "33838667000", null))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("status").isEqualTo(404)
+                .jsonPath("method").isEqualTo("POST")
+                .jsonPath("path").isEqualTo("/api/v1/estacionamentos/check-in");
+    }
+
+    @Test
+    public void criarCheckIn_DadosInvalidos_RetornarErrorMessageStatus422() {
+
+        testClient.post()
+                .uri("/api/v1/estacionamentos/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new EstacionamentoCreateDto("", "", "", "", "", null))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("status").isEqualTo(422)
+                .jsonPath("method").isEqualTo("POST")
+                .jsonPath("path").isEqualTo("/api/v1/estacionamentos/check-in");
+    }
+
+    @Test
+    public void criarCheckIn_PerfilCliente_RetornarErrorMessageStatus403() {
+
+        testClient.post()
+                .uri("/api/v1/estacionamentos/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "peto@test.com", "123456"))
+                .bodyValue(new EstacionamentoCreateDto("WER-1111", "FIAT", "PALIO 1.0", "AZUL", "40591050072", null))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("status").isEqualTo(403);
+    }
+
+    @Test
+    public void criarCheckIn_RequisicoesConcorrentes_OcuparCadaVagaUmaUnicaVez() throws Exception {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Callable<EntityExchangeResult<EstacionamentoResponseDto>>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String placa = String.format("ABC-%04d", i);
+            tarefas.add(() -> testClient.post()
+                    .uri("/api/v1/estacionamentos/check-in")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .headers(admin)
+                    .bodyValue(new EstacionamentoCreateDto(placa, "FIAT", "PALIO 1.0", "AZUL", "40591050072", null))
+                    .exchange()
+                    .expectBody(EstacionamentoResponseDto.class)
+                    .returnResult());
+        }
+
+        List<String> vagas = new ArrayList<>();
+        int semVaga = 0;
+        try {
+            for (Future<EntityExchangeResult<EstacionamentoResponseDto>> future : executor.invokeAll(tarefas)) {
+                EntityExchangeResult<EstacionamentoResponseDto> result = future.get();
+                if (result.getStatus().value() == 201) {
+                    vagas.add(result.getResponseBody().getVagaCodigo());
+                } else {
+                    assertThat(result.getStatus().value()).isEqualTo(404);
+                    semVaga++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(vagas).containsExactlyInAnyOrder("A-02", "A-03", "A-04", "A-05");
+        assertThat(semVaga).isEqualTo(6);
+    }
+
+    @Test
+    public void buscarCheckIn_ReciboExistente_RetornarDadosStatus200() {
+
+        testClient.get()
+                .uri("/api/v1/estacionamentos/{recibo}", "20231013-101300-A-01")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("placa").isEqualTo("FIT-1020")
+                .jsonPath("clienteCpf").isEqualTo("71490768076")
+                .jsonPath("vagaCodigo").isEqualTo("A-01")
+                .jsonPath("dataEntrada").exists()
+                .jsonPath("dataSaida").doesNotExist();
+    }
+
+    @Test
+    public void criarCheckOut_ReciboExistente_RetornarSaidaELiberarVaga() {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+
+        testClient.put()
+                .uri("/api/v1/estacionamentos/check-out/{recibo}", "20231013-101300-A-01")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("recibo").isEqualTo("20231013-101300-A-01")
+                .jsonPath("vagaCodigo").isEqualTo("A-01")
+                .jsonPath("dataSaida").exists();
+
+        testClient.get()
+                .uri("/api/v1/vagas/{codigo}", "A-01")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("status").isEqualTo("LIVRE");
+
+        testClient.put()
+                .uri("/api/v1/estacionamentos/check-out/{recibo}", "20231013-101300-A-01")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("status").isEqualTo(404)
+                .jsonPath("method").isEqualTo("PUT")
+                .jsonPath("path").isEqualTo("/api/v1/estacionamentos/check-out/20231013-101300-A-01");
+    }
+
+    @Test
+    public void criarCheckIn_ComVagaReservada_OcuparAVagaReservada() {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+        VagaResponseDto reservada = testClient.post()
+                .uri("/api/v1/vagas/reservar")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "peto@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(VagaResponseDto.class)
+                .returnResult().getResponseBody();
+
+        testClient.post()
+                .uri("/api/v1/estacionamentos/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(admin)
+                .bodyValue(new EstacionamentoCreateDto("WER-1111", "FIAT", "PALIO 1.0", "AZUL", "40591050072", reservada.getCodigo()))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("vagaCodigo").isEqualTo(reservada.getCodigo());
+
+        testClient.get()
+                .uri("/api/v1/vagas/{codigo}", reservada.getCodigo())
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("status").isEqualTo("OCUPADA")
+                .jsonPath("reservadaAte").doesNotExist();
+    }
+
+    @Test
+    public void criarCheckIn_VagaSemReserva_RetornarErrorMessageStatus404() {
+
+        testClient.post()
+                .uri("/api/v1/estacionamentos/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new EstacionamentoCreateDto("WER-1111", "FIAT", "PALIO 1.0", "AZUL", "40591050072", "A-02"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("message").isEqualTo("Reserva da vaga A-02 não encontrada ou expirada.");
+    }
+
+    @Test
+    public void criarCheckIn_ReservaDeOutroUsuario_RetornarErrorMessageStatus404() {
+
+        VagaResponseDto reservada = testClient.post()
+                .uri("/api/v1/vagas/reservar")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "peto@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(VagaResponseDto.class)
+                .returnResult().getResponseBody();
+
+        testClient.post()
+                .uri("/api/v1/estacionamentos/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new EstacionamentoCreateDto("WER-1111", "FIAT", "PALIO 1.0", "AZUL", "71490768076", reservada.getCodigo()))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("message").isEqualTo(String.format("Reserva da vaga %s não encontrada ou expirada.", reservada.getCodigo()));
+    }
+
+    @Test
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(scripts = "/sql/estacionamentos/reserva-vencida-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void criarCheckIn_ReservaVencidaAindaNaoLiberada_RetornarErrorMessageStatus404() {
+
+        testClient.post()
+                .uri("/api/v1/estacionamentos/check-in")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new EstacionamentoCreateDto("WER-1111", "FIAT", "PALIO 1.0", "AZUL", "40591050072", "A-02"))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("message").isEqualTo("Reserva da vaga A-02 não encontrada ou expirada.");
+    }
+}
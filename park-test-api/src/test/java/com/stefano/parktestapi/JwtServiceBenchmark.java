@@ -0,0 +1,57 @@
+package com.stefano.parktestapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stefano.parktestapi.jwt.JwtService;
+import com.stefano.parktestapi.jwt.TokenEpochRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificações de token por segundo: o caminho antigo do {@code JwtUtils}, que derivava a chave e montava
+ * um parser a cada chamada, contra o {@link JwtService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET_KEY = "0123456789-0123456789-0123456789";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setup() {
+        TokenEpochRegistry tokenEpochRegistry = Mockito.mock(TokenEpochRegistry.class);
+        jwtService = new JwtService(SECRET_KEY, 60, new ObjectMapper(), tokenEpochRegistry);
+        token = JwtService.JWT_BEARER + jwtService.createToken(1L, "romeo@test.com", "ADMIN", 0).getToken();
+    }
+
+    @Benchmark
+    public Claims antesParserPorChamada() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token.substring(JwtService.JWT_BEARER.length()))
+                .getPayload();
+    }
+
+    @Benchmark
+    public Claims depoisGetClaims() {
+        return jwtService.getClaims(token);
+    }
+
+    @Benchmark
+    public boolean depoisSomenteAssinatura() {
+        return jwtService.isSignatureValid(token.substring(JwtService.JWT_BEARER.length()));
+    }
+}
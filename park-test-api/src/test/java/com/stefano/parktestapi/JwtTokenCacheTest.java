@@ -0,0 +1,61 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.jwt.JwtService;
+import com.stefano.parktestapi.jwt.JwtTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Date;
+
+public class JwtTokenCacheTest {
+
+    private static final String TOKEN = "header.payload.assinatura";
+
+    private final JwtService jwtService = Mockito.mock(JwtService.class);
+
+    @Test
+    public void getClaims_TokenRepetido_VerificaApenasUmaVez() {
+        Claims claims = claimsExpirandoEm(60_000);
+        Mockito.when(jwtService.getClaims(TOKEN)).thenReturn(claims);
+        JwtTokenCache cache = new JwtTokenCache(jwtService, new SimpleMeterRegistry(), true, 100);
+
+        Assertions.assertThat(cache.getClaims(TOKEN)).isSameAs(claims);
+        Assertions.assertThat(cache.getClaims(TOKEN)).isSameAs(claims);
+
+        Mockito.verify(jwtService, Mockito.times(1)).getClaims(TOKEN);
+    }
+
+    @Test
+    public void getClaims_TokenExpirado_DescartaAEntradaNoExp() throws InterruptedException {
+        Mockito.when(jwtService.getClaims(TOKEN)).thenReturn(claimsExpirandoEm(200), (Claims) null);
+        JwtTokenCache cache = new JwtTokenCache(jwtService, new SimpleMeterRegistry(), true, 100);
+
+        Assertions.assertThat(cache.getClaims(TOKEN)).isNotNull();
+        Thread.sleep(400);
+
+        Assertions.assertThat(cache.getClaims(TOKEN)).isNull();
+        Mockito.verify(jwtService, Mockito.times(2)).getClaims(TOKEN);
+    }
+
+    @Test
+    public void getClaims_CacheDesabilitado_VerificaTodaVez() {
+        Mockito.when(jwtService.getClaims(TOKEN)).thenReturn(claimsExpirandoEm(60_000));
+        JwtTokenCache cache = new JwtTokenCache(jwtService, new SimpleMeterRegistry(), false, 100);
+
+        cache.getClaims(TOKEN);
+        cache.getClaims(TOKEN);
+
+        Mockito.verify(jwtService, Mockito.times(2)).getClaims(TOKEN);
+    }
+
+    private static Claims claimsExpirandoEm(long millis) {
+        return Jwts.claims()
+                .subject("romeo@test.com")
+                .expiration(new Date(System.currentTimeMillis() + millis))
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.security.LoginRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Custo por requisição do {@link LoginRateLimiter} com várias threads: todas no mesmo username e IP (um único
+ * balde disputado) e cada uma com seus próprios baldes. A capacidade é alta para que nenhuma tentativa seja negada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoginRateLimiterBenchmark {
+
+    private final AtomicInteger sequencia = new AtomicInteger();
+    private LoginRateLimiter limiter;
+
+    @Setup
+    public void setup() {
+        limiter = new LoginRateLimiter(Integer.MAX_VALUE, Duration.ofSeconds(1), Integer.MAX_VALUE, Duration.ofSeconds(1), 100_000);
+    }
+
+    @State(Scope.Thread)
+    public static class Cliente {
+
+        private String username;
+        private String ip;
+
+        @Setup
+        public void setup(LoginRateLimiterBenchmark benchmark) {
+            int id = benchmark.sequencia.incrementAndGet();
+            username = "user" + id + "@test.com";
+            ip = "10.0.0." + id;
+        }
+    }
+
+    @Benchmark
+    public void mesmoBalde() {
+        limiter.verificar("romeo@test.com", "10.0.0.1");
+    }
+
+    @Benchmark
+    public void baldesPorThread(Cliente cliente) {
+        limiter.verificar(cliente.username, cliente.ip);
+    }
+}
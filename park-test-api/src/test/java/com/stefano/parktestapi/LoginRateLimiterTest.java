@@ -0,0 +1,88 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.exception.LoginRateLimitException;
+import com.stefano.parktestapi.security.LoginRateLimiter;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoginRateLimiterTest {
+
+    private static final int THREADS = 32;
+    private static final int TENTATIVAS_POR_THREAD = 200;
+
+    @Test
+    public void verificar_MuitasThreadsMesmoUsername_PermiteExatamenteACapacidade() throws Exception {
+        LoginRateLimiter limiter = new LoginRateLimiter(50, Duration.ofHours(1), 1_000_000, Duration.ofHours(1), 1000);
+
+        int permitidas = disputar(limiter, i -> "ana@email.com", i -> "10.0.0." + (i % 8));
+
+        Assertions.assertThat(permitidas).isEqualTo(50);
+    }
+
+    @Test
+    public void verificar_MuitasThreadsMesmoIp_PermiteExatamenteACapacidade() throws Exception {
+        LoginRateLimiter limiter = new LoginRateLimiter(1_000_000, Duration.ofHours(1), 300, Duration.ofHours(1), 100_000);
+
+        int permitidas = disputar(limiter, i -> "user" + i + "@email.com", i -> "10.0.0.1");
+
+        Assertions.assertThat(permitidas).isEqualTo(300);
+    }
+
+    @Test
+    public void verificar_UsernameBloqueado_RetornaRetryAfterSemAfetarOutrosUsuarios() {
+        LoginRateLimiter limiter = new LoginRateLimiter(2, Duration.ofMinutes(1), 100, Duration.ofMinutes(1), 1000);
+
+        limiter.verificar("ana@email.com", "10.0.0.1");
+        limiter.verificar("ANA@email.com", "10.0.0.1");
+
+        Assertions.assertThatThrownBy(() -> limiter.verificar("ana@email.com", "10.0.0.1"))
+                .isInstanceOf(LoginRateLimitException.class)
+                .extracting(ex -> ((LoginRateLimitException) ex).getRetryAfterSeconds())
+                .satisfies(segundos -> Assertions.assertThat((Long) segundos).isBetween(1L, 31L));
+
+        limiter.verificar("bia@email.com", "10.0.0.1");
+    }
+
+    private interface Chave {
+        String de(int indice);
+    }
+
+    private static int disputar(LoginRateLimiter limiter, Chave username, Chave ip) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger permitidas = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < TENTATIVAS_POR_THREAD; i++) {
+                        try {
+                            limiter.verificar(username.de(i), ip.de(i));
+                            permitidas.incrementAndGet();
+                        } catch (LoginRateLimitException ex) {
+                            // esperado depois de esgotar o balde
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return permitidas.get();
+    }
+}
@@ -0,0 +1,61 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.web.dto.UsuarioLoginDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sem custo fixo: o BCrypt é calibrado na inicialização (o alvo mínimo leva ao custo 10) e as massas de teste,
+ * geradas com custo 12, são recodificadas no primeiro login.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "api.security.password.bcrypt-strength=0",
+        "api.security.password.bcrypt-target=1ms"
+})
+@Sql(scripts = "/sql/usuarios/usuarios-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/usuarios/usuarios-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SenhaRecodificacaoIT {
+
+    @Autowired
+    WebTestClient testClient;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void autenticar_HashComOutroCusto_RecodificarComCustoCalibrado() {
+        int custo = (int) meterRegistry.get("password.bcrypt.cost").gauge().value();
+        assertThat(custo).isEqualTo(10);
+        assertThat(senhaDe("romeo@test.com")).startsWith("$2a$12$");
+
+        autenticar("romeo@test.com", "123456");
+
+        String recodificada = senhaDe("romeo@test.com");
+        assertThat(recodificada).startsWith(String.format("$2a$%02d$", custo));
+        assertThat(senhaDe("peto@test.com")).startsWith("$2a$12$");
+
+        autenticar("romeo@test.com", "123456");
+        assertThat(senhaDe("romeo@test.com")).isEqualTo(recodificada);
+    }
+
+    private void autenticar(String username, String password) {
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .bodyValue(new UsuarioLoginDto(username, password))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private String senhaDe(String username) {
+        return jdbcTemplate.queryForObject("select password from usuarios where username = ?", String.class, username);
+    }
+}
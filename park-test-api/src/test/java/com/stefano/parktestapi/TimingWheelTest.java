@@ -0,0 +1,71 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.service.TimingWheel;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class TimingWheelTest {
+
+    @Test
+    public void avancar_PrazosEmTodosOsNiveis_VenceExatamenteNoPrazo() {
+        TimingWheel<Long> roda = new TimingWheel<>(1_000);
+        long[] prazos = {1_000, 1_001, 1_063, 1_064, 1_500, 5_095, 5_096, 300_000, 1_000_000};
+        for (long prazo : prazos) {
+            roda.agendar(prazo, prazo);
+        }
+
+        Map<Long, Long> vencimentos = new HashMap<>();
+        for (long tick = 1_000; tick <= 1_000_000; tick++) {
+            for (Long item : roda.avancar(tick)) {
+                vencimentos.put(item, tick);
+            }
+        }
+
+        Assertions.assertThat(vencimentos).hasSize(prazos.length);
+        vencimentos.forEach((prazo, tick) -> Assertions.assertThat(tick).isEqualTo(prazo));
+    }
+
+    @Test
+    public void avancar_VariosTicksDeUmaVez_DevolveTodosOsVencidos() {
+        TimingWheel<Long> roda = new TimingWheel<>(0);
+        List<Long> esperados = new ArrayList<>();
+        for (long i = 0; i < 10_000; i++) {
+            long prazo = ThreadLocalRandom.current().nextLong(0, 100_000);
+            roda.agendar(i, prazo);
+            if (prazo <= 50_000) {
+                esperados.add(i);
+            }
+        }
+
+        List<Long> vencidos = roda.avancar(50_000);
+
+        Assertions.assertThat(vencidos).containsExactlyInAnyOrderElementsOf(esperados);
+        Assertions.assertThat(roda.avancar(100_000)).hasSize(10_000 - esperados.size());
+    }
+
+    @Test
+    public void agendar_PrazoJaPassado_VenceNoProximoTick() {
+        TimingWheel<String> roda = new TimingWheel<>(0);
+        roda.avancar(200);
+
+        roda.agendar("atrasada", 10);
+
+        Assertions.assertThat(roda.avancar(201)).containsExactly("atrasada");
+    }
+
+    @Test
+    public void agendar_PrazoAlemDaUltimaCamada_VenceNoPrazo() {
+        TimingWheel<String> roda = new TimingWheel<>(0);
+        long prazo = (1L << 24) * 3 + 7;
+        roda.agendar("distante", prazo);
+
+        Assertions.assertThat(roda.avancar(prazo - 1)).isEmpty();
+        Assertions.assertThat(roda.avancar(prazo)).containsExactly("distante");
+    }
+}
@@ -1,17 +1,26 @@
 package com.stefano.parktestapi;
 
+import com.stefano.parktestapi.jwt.TokenEpochRegistry;
+import com.stefano.parktestapi.service.event.UsuarioAlteradoEvent;
 import com.stefano.parktestapi.web.dto.UsuarioCreateDto;
+import com.stefano.parktestapi.web.dto.UsuarioLoginDto;
 import com.stefano.parktestapi.web.dto.UsuarioResponseDto;
 import com.stefano.parktestapi.web.dto.UsuarioSenhaDto;
 import com.stefano.parktestapi.web.exception.ErrorMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,6 +31,24 @@ public class UsuarioIT {
 
     @Autowired
     WebTestClient testClient;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    @Autowired
+    TokenEpochRegistry tokenEpochRegistry;
+
+    @BeforeEach
+    @AfterEach
+    public void recarregarUsuarios() {
+        // as massas são recriadas a cada teste: descarta senhas e épocas de token que ficaram em memória,
+        // inclusive ao final, para que as classes seguintes no mesmo contexto não vejam a senha alterada; as
+        // épocas são descartadas depois dos eventos, que as recarregariam antes de a massa ser apagada
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(100L, "romeo@test.com"));
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(101L, "peto@test.com"));
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(102L, "riri@test.com"));
+        tokenEpochRegistry.invalidar();
+    }
 
     @Test
     public void createUsuario_UsernameEPasswordValidos_RetornarUsuarioCriadoStatus201() {
@@ -250,6 +277,73 @@ public class UsuarioIT {
                 .expectStatus().isNoContent();
     }
 
+    @Test
+    public void editarSenha_TokenAnterior_RetornarStatus401() {
+        Consumer<HttpHeaders> tokenAnterior = JwtAuthentication.getHeaderAuthorization(testClient, "peto@test.com", "123456");
+
+        testClient
+                .patch()
+                .uri("api/v1/usuarios/101")
+                .headers(tokenAnterior)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UsuarioSenhaDto("123456", "654321", "654321"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertThat(jdbcTemplate.queryForObject("select token_epoch from usuarios where id = 101", Integer.class)).isEqualTo(1);
+
+        testClient
+                .get()
+                .uri("api/v1/usuarios/101")
+                .headers(tokenAnterior)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        testClient
+                .get()
+                .uri("api/v1/usuarios/101")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "peto@test.com", "654321"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void editarSenha_SenhaAlterada_AutenticarSomenteComNovaSenha() {
+        testClient
+                .patch()
+                .uri("api/v1/usuarios/101")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "peto@test.com", "123456"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UsuarioSenhaDto("123456", "654321", "654321"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UsuarioLoginDto("peto@test.com", "123456"))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        testClient
+                .post()
+                .uri("/api/v1/auth")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UsuarioLoginDto("peto@test.com", "654321"))
+                .exchange()
+                .expectStatus().isOk();
+
+        testClient
+                .patch()
+                .uri("api/v1/usuarios/101")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "peto@test.com", "654321"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UsuarioSenhaDto("654321", "123456", "123456"))
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
     @Test
     public void editarSenha_UsuariosDiferentes_RetornarUsuarioStatus403() {
         ErrorMessage responseBody = testClient
@@ -1,14 +1,41 @@
 package com.stefano.parktestapi;
 
+import com.stefano.parktestapi.service.ReservaExpiracao;
+import com.stefano.parktestapi.service.VagaCodigoCache;
+import com.stefano.parktestapi.service.VagaLivreIndex;
+import com.stefano.parktestapi.service.VagaOcupacaoContador;
 import com.stefano.parktestapi.web.dto.VagaCreateDto;
+import com.stefano.parktestapi.web.dto.VagaLoteCreateDto;
+import com.stefano.parktestapi.web.dto.VagaLoteResponseDto;
+import com.stefano.parktestapi.web.dto.VagaPainelResponseDto;
+import com.stefano.parktestapi.web.dto.VagaResponseDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlMergeMode;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.FluxExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql(scripts = "/sql/vagas/vagas-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
 @Sql(scripts = "/sql/vagas/vagas-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -17,6 +44,27 @@ public class VagaIT {
     @Autowired
     WebTestClient testClient;
 
+    @Autowired
+    VagaLivreIndex vagaLivreIndex;
+
+    @Autowired
+    VagaCodigoCache vagaCodigoCache;
+
+    @Autowired
+    VagaOcupacaoContador vagaOcupacaoContador;
+
+    @Autowired
+    ReservaExpiracao reservaExpiracao;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void recarregarIndice() {
+        vagaLivreIndex.recarregar();
+        vagaCodigoCache.invalidar();
+    }
+
     @Test
     public void criarVaga_DadosValidos_RetornarLocationStatus201() {
 
@@ -24,7 +72,7 @@ public class VagaIT {
                 .uri("/api/v1/vagas")
                 .contentType(MediaType.APPLICATION_JSON)
                 .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
-                .bodyValue(new VagaCreateDto("A-05", "LIVRE"))
+                .bodyValue(new VagaCreateDto("A-05", "LIVRE", null, null))
                 .exchange()
                 .expectStatus().isCreated()
                 .expectHeader().exists(HttpHeaders.LOCATION);
@@ -37,7 +85,7 @@ public class VagaIT {
                 .uri("/api/v1/vagas")
                 .contentType(MediaType.APPLICATION_JSON)
                 .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
-                .bodyValue(new VagaCreateDto("A-01", "LIVRE"))
+                .bodyValue(new VagaCreateDto("A-01", "LIVRE", null, null))
                 .exchange()
                 .expectStatus().isEqualTo(409)
                 .expectBody()
@@ -54,7 +102,7 @@ public class VagaIT {
                 .uri("/api/v1/vagas")
                 .contentType(MediaType.APPLICATION_JSON)
                 .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
-                .bodyValue(new VagaCreateDto("", ""))
+                .bodyValue(new VagaCreateDto("", "", null, null))
                 .exchange()
                 .expectStatus().isEqualTo(422)
                 .expectBody()
@@ -66,7 +114,7 @@ public class VagaIT {
                 .uri("/api/v1/vagas")
                 .contentType(MediaType.APPLICATION_JSON)
                 .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
-                .bodyValue(new VagaCreateDto("A-500", "DESOCUPADA"))
+                .bodyValue(new VagaCreateDto("A-500", "DESOCUPADA", null, null))
                 .exchange()
                 .expectStatus().isEqualTo(422)
                 .expectBody()
@@ -103,6 +151,54 @@ public class VagaIT {
                 .jsonPath("path").isEqualTo("/api/v1/vagas/A-10");
     }
 
+    @Test
+    public void buscarVaga_CodigoEmCache_NaoConsultarOBanco() {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+        testClient.get().uri("/api/v1/vagas/{codigo}", "A-01").headers(admin).exchange().expectStatus().isOk();
+        testClient.get().uri("/api/v1/vagas/{codigo}", "Z-99").headers(admin).exchange().expectStatus().isNotFound();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        testClient.get()
+                .uri("/api/v1/vagas/{codigo}", "A-01")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("codigo").isEqualTo("A-01")
+                .jsonPath("status").isEqualTo("LIVRE")
+                .jsonPath("distancia").isEqualTo(30);
+        testClient.get().uri("/api/v1/vagas/{codigo}", "Z-99").headers(admin).exchange().expectStatus().isNotFound();
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    public void buscarVaga_AposAlocarECriar_RetornarDadosAtualizados() {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+        testClient.get().uri("/api/v1/vagas/{codigo}", "A-02").headers(admin).exchange()
+                .expectBody().jsonPath("status").isEqualTo("LIVRE");
+        testClient.get().uri("/api/v1/vagas/{codigo}", "A-09").headers(admin).exchange().expectStatus().isNotFound();
+
+        testClient.post().uri("/api/v1/vagas/alocar?criterio=MAIS_PROXIMA").headers(admin).exchange()
+                .expectBody().jsonPath("codigo").isEqualTo("A-02");
+        testClient.post()
+                .uri("/api/v1/vagas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(admin)
+                .bodyValue(new VagaCreateDto("A-09", "LIVRE", null, null))
+                .exchange()
+                .expectStatus().isCreated();
+
+        testClient.get().uri("/api/v1/vagas/{codigo}", "A-02").headers(admin).exchange()
+                .expectBody().jsonPath("status").isEqualTo("OCUPADA");
+        testClient.get().uri("/api/v1/vagas/{codigo}", "A-09").headers(admin).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("status").isEqualTo("LIVRE");
+    }
+
     @Test
     public void criarVaga_PerfilInvalido_RetornarErrorStatus403() {
 
@@ -110,7 +206,7 @@ public class VagaIT {
                 .uri("/api/v1/vagas")
                 .contentType(MediaType.APPLICATION_JSON)
                 .headers(JwtAuthentication.getHeaderAuthorization(testClient, "riri@test.com", "123456"))
-                .bodyValue(new VagaCreateDto("A-10", "LIVRE"))
+                .bodyValue(new VagaCreateDto("A-10", "LIVRE", null, null))
                 .exchange()
                 .expectStatus().isForbidden()
                 .expectBody()
@@ -132,4 +228,398 @@ public class VagaIT {
                 .jsonPath("method").isEqualTo("GET")
                 .jsonPath("path").isEqualTo("/api/v1/vagas/A-01");
     }
+
+    @Test
+    public void alocarVaga_ComVagaLivre_RetornarVagaOcupadaStatus200() {
+
+        VagaResponseDto vaga = testClient.post()
+                .uri("/api/v1/vagas/alocar")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(VagaResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(vaga).isNotNull();
+        Assertions.assertThat(vaga.getCodigo()).isIn("A-01", "A-02", "A-04");
+        Assertions.assertThat(vaga.getStatus()).isEqualTo("OCUPADA");
+    }
+
+    @Test
+    public void alocarVaga_RequisicoesConcorrentes_AlocarCadaVagaLivreUmaUnicaVez() throws Exception {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        List<Callable<EntityExchangeResult<VagaResponseDto>>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            tarefas.add(() -> testClient.post()
+                    .uri("/api/v1/vagas/alocar")
+                    .headers(admin)
+                    .exchange()
+                    .expectBody(VagaResponseDto.class)
+                    .returnResult());
+        }
+
+        List<String> alocadas = new ArrayList<>();
+        int semVaga = 0;
+        try {
+            for (Future<EntityExchangeResult<VagaResponseDto>> future : executor.invokeAll(tarefas)) {
+                EntityExchangeResult<VagaResponseDto> result = future.get();
+                if (result.getStatus().value() == 200) {
+                    alocadas.add(result.getResponseBody().getCodigo());
+                } else {
+                    Assertions.assertThat(result.getStatus().value()).isEqualTo(404);
+                    semVaga++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertThat(alocadas).containsExactlyInAnyOrder("A-01", "A-02", "A-04");
+        Assertions.assertThat(semVaga).isEqualTo(9);
+    }
+
+    @Test
+    public void alocarVaga_CriterioMaisProxima_RetornarVagasEmOrdemDeDistancia() {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+        List<String> codigos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            codigos.add(testClient.post()
+                    .uri("/api/v1/vagas/alocar?criterio=MAIS_PROXIMA")
+                    .headers(admin)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(VagaResponseDto.class)
+                    .returnResult().getResponseBody().getCodigo());
+        }
+
+        Assertions.assertThat(codigos).containsExactly("A-02", "A-04", "A-01");
+    }
+
+    @Test
+    public void alocarVaga_PorTipoEMenorCodigo_RetornarSomenteVagasDoTipo() {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+
+        testClient.post()
+                .uri("/api/v1/vagas/alocar?tipo=PCD")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("codigo").isEqualTo("A-04")
+                .jsonPath("tipo").isEqualTo("PCD");
+
+        testClient.post().uri("/api/v1/vagas/alocar?tipo=PCD").headers(admin).exchange().expectStatus().isNotFound();
+
+        testClient.post()
+                .uri("/api/v1/vagas/alocar?criterio=MENOR_CODIGO")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("codigo").isEqualTo("A-01");
+    }
+
+    @Test
+    public void alocarVaga_SemVagaLivre_RetornarErrorMessageStatus404() {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+        for (int i = 0; i < 3; i++) {
+            testClient.post().uri("/api/v1/vagas/alocar").headers(admin).exchange().expectStatus().isOk();
+        }
+
+        testClient.post()
+                .uri("/api/v1/vagas/alocar")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("status").isEqualTo(404)
+                .jsonPath("method").isEqualTo("POST")
+                .jsonPath("path").isEqualTo("/api/v1/vagas/alocar");
+    }
+
+    @Test
+    public void criarVagasEmLote_Intervalo_RetornarQuantidadeCriadaStatus200() {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+
+        VagaLoteResponseDto lote = testClient.post()
+                .uri("/api/v1/vagas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(admin)
+                .bodyValue(new VagaLoteCreateDto(null, "B-01..B-20", "LIVRE"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(VagaLoteResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(lote).isNotNull();
+        Assertions.assertThat(lote.getCriadas()).isEqualTo(20);
+        Assertions.assertThat(lote.getDuplicadas()).isEmpty();
+
+        testClient.get()
+                .uri("/api/v1/vagas/{codigo}", "B-20")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("status").isEqualTo("LIVRE");
+    }
+
+    @Test
+    public void criarVagasEmLote_CodigosDuplicados_CriarDemaisEInformarDuplicadas() {
+
+        VagaLoteResponseDto lote = testClient.post()
+                .uri("/api/v1/vagas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new VagaLoteCreateDto(List.of("A-01", "C-01", "C-02", "C-01", "A-03"), null, "OCUPADA"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(VagaLoteResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(lote).isNotNull();
+        Assertions.assertThat(lote.getCriadas()).isEqualTo(2);
+        Assertions.assertThat(lote.getDuplicadas()).containsExactlyInAnyOrder("A-01", "C-01", "A-03");
+    }
+
+    @Test
+    public void criarVagasEmLote_IntervaloInvalido_RetornarErrorMessageStatus422() {
+
+        testClient.post()
+                .uri("/api/v1/vagas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new VagaLoteCreateDto(null, "A-01..B-99", "LIVRE"))
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody()
+                .jsonPath("status").isEqualTo(422)
+                .jsonPath("method").isEqualTo("POST")
+                .jsonPath("path").isEqualTo("/api/v1/vagas/lote");
+    }
+
+    @Test
+    public void buscarOcupacao_AposAlocarECriarEmLote_RetornarContadoresAtualizadosStatus200() {
+
+        vagaOcupacaoContador.reconciliar();
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+
+        testClient.get()
+                .uri("/api/v1/vagas/ocupacao")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("total").isEqualTo(4)
+                .jsonPath("status.LIVRE").isEqualTo(3)
+                .jsonPath("status.OCUPADA").isEqualTo(1);
+
+        testClient.post().uri("/api/v1/vagas/alocar").headers(admin).exchange().expectStatus().isOk();
+        testClient.post()
+                .uri("/api/v1/vagas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(admin)
+                .bodyValue(new VagaLoteCreateDto(List.of("D-01", "D-02"), null, "LIVRE"))
+                .exchange()
+                .expectStatus().isOk();
+
+        testClient.get()
+                .uri("/api/v1/vagas/ocupacao")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("total").isEqualTo(6)
+                .jsonPath("status.LIVRE").isEqualTo(4)
+                .jsonPath("status.OCUPADA").isEqualTo(2);
+    }
+
+    @Test
+    public void buscarOcupacao_PerfilCliente_RetornarErrorStatus403() {
+
+        testClient.get()
+                .uri("/api/v1/vagas/ocupacao")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "riri@test.com", "123456"))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("status").isEqualTo(403)
+                .jsonPath("method").isEqualTo("GET")
+                .jsonPath("path").isEqualTo("/api/v1/vagas/ocupacao");
+    }
+
+    @Test
+    public void assinarPainel_AlocacoesEmRajada_RetornarOcupacaoInicialEEventosAgrupados() {
+
+        vagaOcupacaoContador.reconciliar();
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+
+        FluxExchangeResult<ServerSentEvent<VagaPainelResponseDto>> result = testClient.get()
+                .uri("/api/v1/vagas/painel")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<>() {});
+
+        testClient.post().uri("/api/v1/vagas/alocar").headers(admin).exchange().expectStatus().isOk();
+        testClient.post().uri("/api/v1/vagas/alocar").headers(admin).exchange().expectStatus().isOk();
+
+        List<VagaPainelResponseDto> eventos = result.getResponseBody()
+                .filter(evento -> "ocupacao".equals(evento.event()))
+                .map(ServerSentEvent::data)
+                .takeUntil(painel -> painel.getOcupacao().getStatus().get("LIVRE") == 1L)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // a janela de agrupamento pode cair entre as duas alocações, mas nunca gera um evento por mudança a mais
+        Assertions.assertThat(eventos).hasSizeBetween(2, 3);
+        Assertions.assertThat(eventos.get(0).getOcupacao().getStatus()).containsEntry("LIVRE", 3L);
+        Assertions.assertThat(eventos.get(0).getVagas()).isEmpty();
+        VagaPainelResponseDto ultimo = eventos.get(eventos.size() - 1);
+        Assertions.assertThat(ultimo.getOcupacao().getStatus()).containsEntry("OCUPADA", 3L);
+        Assertions.assertThat(eventos.stream().skip(1).mapToInt(painel -> painel.getVagas().size()).sum()).isEqualTo(2);
+    }
+
+    @Test
+    public void buscarVagas_PaginacaoPorKeyset_RetornarPaginasEmOrdemDeCodigoStatus200() {
+
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+
+        testClient.get()
+                .uri("/api/v1/vagas?size=2")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("content.length()").isEqualTo(2)
+                .jsonPath("content[0].codigo").isEqualTo("A-01")
+                .jsonPath("content[1].codigo").isEqualTo("A-02")
+                .jsonPath("last").isEqualTo(false)
+                .jsonPath("next").isEqualTo("A-02");
+
+        testClient.get()
+                .uri("/api/v1/vagas?size=2&after=A-02")
+                .headers(admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("content.length()").isEqualTo(2)
+                .jsonPath("content[0].codigo").isEqualTo("A-03")
+                .jsonPath("content[1].codigo").isEqualTo("A-04")
+                .jsonPath("last").isEqualTo(true)
+                .jsonPath("next").doesNotExist();
+    }
+
+    @Test
+    public void buscarVagas_FiltroStatusEPrefixo_RetornarSomenteVagasFiltradasStatus200() {
+
+        testClient.get()
+                .uri("/api/v1/vagas?status=LIVRE&prefixo=A-")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("content.length()").isEqualTo(3)
+                .jsonPath("content[0].codigo").isEqualTo("A-01")
+                .jsonPath("content[1].codigo").isEqualTo("A-02")
+                .jsonPath("content[2].codigo").isEqualTo("A-04")
+                .jsonPath("content[2].status").isEqualTo("LIVRE")
+                .jsonPath("pageElements").isEqualTo(3)
+                .jsonPath("last").isEqualTo(true);
+    }
+
+    @Test
+    public void buscarVagas_PerfilCliente_RetornarErrorStatus403() {
+
+        testClient.get()
+                .uri("/api/v1/vagas")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "riri@test.com", "123456"))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("status").isEqualTo(403)
+                .jsonPath("method").isEqualTo("GET")
+                .jsonPath("path").isEqualTo("/api/v1/vagas");
+    }
+
+    @Test
+    public void reservarVaga_ComVagaLivre_RetornarVagaReservadaStatus200() {
+
+        vagaOcupacaoContador.reconciliar();
+
+        testClient.post()
+                .uri("/api/v1/vagas/reservar")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "peto@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("status").isEqualTo("RESERVADA")
+                .jsonPath("reservadaAte").exists();
+
+        testClient.get()
+                .uri("/api/v1/vagas/ocupacao")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("status.LIVRE").isEqualTo(2)
+                .jsonPath("status.RESERVADA").isEqualTo(1);
+    }
+
+    @Test
+    public void reservarVaga_LimiteDeReservasAtingido_RetornarErrorMessageStatus409() {
+
+        Consumer<HttpHeaders> peto = JwtAuthentication.getHeaderAuthorization(testClient, "peto@test.com", "123456");
+        testClient.post()
+                .uri("/api/v1/vagas/reservar")
+                .headers(peto)
+                .exchange()
+                .expectStatus().isOk();
+
+        testClient.post()
+                .uri("/api/v1/vagas/reservar")
+                .headers(peto)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("status").isEqualTo(409)
+                .jsonPath("path").isEqualTo("/api/v1/vagas/reservar");
+
+        // o limite é por usuário
+        testClient.post()
+                .uri("/api/v1/vagas/reservar")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "riri@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @SqlMergeMode(SqlMergeMode.MergeMode.MERGE)
+    @Sql(scripts = "/sql/vagas/reservas-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    public void expirarReserva_PrazoVencido_LiberarVagaNoProximoTick() throws Exception {
+
+        reservaExpiracao.recarregar();
+        Consumer<HttpHeaders> admin = JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456");
+
+        String status = null;
+        for (int i = 0; i < 50 && !"LIVRE".equals(status); i++) {
+            Thread.sleep(100);
+            status = testClient.get()
+                    .uri("/api/v1/vagas/{codigo}", "A-05")
+                    .headers(admin)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(VagaResponseDto.class)
+                    .returnResult().getResponseBody().getStatus();
+        }
+
+        Assertions.assertThat(status).isEqualTo("LIVRE");
+    }
 }
@@ -0,0 +1,103 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.repository.VagaRepository;
+import com.stefano.parktestapi.repository.projection.VagaZonaStatusProjection;
+import com.stefano.parktestapi.service.PreferenciaAlocacao;
+import com.stefano.parktestapi.service.VagaLivreIndex;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ciclos de reserva e liberação no {@link VagaLivreIndex} com várias threads, sem banco: cada operação toma uma
+ * vaga livre e a devolve, então o índice nunca esgota. Sem preferência o custo é o do CAS no bitmap; por código
+ * ou distância inclui as skip lists, e todas as threads disputam a mesma primeira vaga.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class VagaLivreIndexBenchmark {
+
+    private static final Long ZONA = 1L;
+
+    @Param({"50000", "100000"})
+    private int vagas;
+
+    private VagaLivreIndex index;
+
+    @Setup
+    public void setup() {
+        List<VagaZonaStatusProjection> projecoes = new ArrayList<>(vagas);
+        for (int i = 0; i < vagas; i++) {
+            Vaga.TipoVaga tipo = i % 10 == 0 ? Vaga.TipoVaga.PCD : Vaga.TipoVaga.COMUM;
+            projecoes.add(new Projecao(i + 1L, ZONA, String.format("%06d", i), tipo, (i * 7919) % vagas));
+        }
+        VagaRepository vagaRepository = Mockito.mock(VagaRepository.class);
+        Mockito.when(vagaRepository.findAllZonaStatus()).thenReturn(projecoes);
+        index = new VagaLivreIndex(vagaRepository);
+        index.recarregar();
+    }
+
+    @Benchmark
+    public Long qualquer() {
+        return reservarELiberar(PreferenciaAlocacao.Criterio.QUALQUER);
+    }
+
+    @Benchmark
+    public Long menorCodigo() {
+        return reservarELiberar(PreferenciaAlocacao.Criterio.MENOR_CODIGO);
+    }
+
+    @Benchmark
+    public Long maisProxima() {
+        return reservarELiberar(PreferenciaAlocacao.Criterio.MAIS_PROXIMA);
+    }
+
+    private Long reservarELiberar(PreferenciaAlocacao.Criterio criterio) {
+        Long id = index.reservar(null, criterio, null);
+        index.liberar(ZONA, id);
+        return id;
+    }
+
+    private record Projecao(Long id, Long zonaId, String codigo, Vaga.TipoVaga tipo, Integer distancia)
+            implements VagaZonaStatusProjection {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getZonaId() {
+            return zonaId;
+        }
+
+        @Override
+        public Vaga.StatusVaga getStatus() {
+            return Vaga.StatusVaga.LIVRE;
+        }
+
+        @Override
+        public String getCodigo() {
+            return codigo;
+        }
+
+        @Override
+        public Vaga.TipoVaga getTipo() {
+            return tipo;
+        }
+
+        @Override
+        public Integer getDistancia() {
+            return distancia;
+        }
+    }
+}
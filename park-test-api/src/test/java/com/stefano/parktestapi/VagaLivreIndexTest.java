@@ -0,0 +1,200 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.repository.VagaRepository;
+import com.stefano.parktestapi.repository.projection.VagaZonaStatusProjection;
+import com.stefano.parktestapi.service.PreferenciaAlocacao;
+import com.stefano.parktestapi.service.VagaLivreIndex;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.stefano.parktestapi.service.PreferenciaAlocacao.Criterio.MAIS_PROXIMA;
+import static com.stefano.parktestapi.service.PreferenciaAlocacao.Criterio.MENOR_CODIGO;
+import static com.stefano.parktestapi.service.PreferenciaAlocacao.Criterio.QUALQUER;
+
+public class VagaLivreIndexTest {
+
+    private static final int VAGAS = 50_000;
+    private static final long ZONA = 1L;
+
+    private VagaRepository vagaRepository;
+    private VagaLivreIndex index;
+
+    @BeforeEach
+    public void criarIndice() {
+        List<VagaZonaStatusProjection> vagas = new ArrayList<>(VAGAS);
+        for (int i = 0; i < VAGAS; i++) {
+            Vaga.TipoVaga tipo = i % 10 == 0 ? Vaga.TipoVaga.PCD : Vaga.TipoVaga.COMUM;
+            vagas.add(new Projecao(i + 1L, ZONA, String.format("%05d", i), tipo, (i * 7919) % VAGAS));
+        }
+        vagaRepository = Mockito.mock(VagaRepository.class);
+        Mockito.when(vagaRepository.findAllZonaStatus()).thenReturn(vagas);
+        index = new VagaLivreIndex(vagaRepository);
+        index.recarregar();
+    }
+
+    @Test
+    public void reservar_MaisProxima_DevolveVagasEmOrdemDeDistancia() {
+        int anterior = -1;
+        for (int n = 0; n < 1000; n++) {
+            Long id = index.reservar(null, MAIS_PROXIMA, null);
+            int distancia = distancia(id);
+            Assertions.assertThat(distancia).isGreaterThan(anterior);
+            anterior = distancia;
+        }
+        Assertions.assertThat(anterior).isEqualTo(999);
+    }
+
+    @Test
+    public void reservar_MenorCodigoPorTipo_DevolveSomenteOTipoEmOrdemDeCodigo() {
+        Assertions.assertThat(index.reservar(List.of(ZONA), MENOR_CODIGO, Vaga.TipoVaga.PCD)).isEqualTo(1L);
+        Assertions.assertThat(index.reservar(List.of(ZONA), MENOR_CODIGO, Vaga.TipoVaga.PCD)).isEqualTo(11L);
+
+        index.liberar(ZONA, 1L);
+
+        Assertions.assertThat(index.reservar(List.of(ZONA), MENOR_CODIGO, Vaga.TipoVaga.PCD)).isEqualTo(1L);
+        Assertions.assertThat(index.reservar(List.of(ZONA), MENOR_CODIGO, null)).isEqualTo(2L);
+    }
+
+    @Test
+    public void reservarELiberar_CiclosConcorrentesEmTodosOsCriterios_NuncaEntregaAMesmaVagaDuasVezes() throws Exception {
+        Set<Long> tomadas = ConcurrentHashMap.newKeySet();
+        AtomicInteger repetidas = new AtomicInteger();
+        PreferenciaAlocacao.Criterio[] criterios = {QUALQUER, MENOR_CODIGO, MAIS_PROXIMA};
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            PreferenciaAlocacao.Criterio criterio = criterios[t % criterios.length];
+            futuros.add(executor.submit(() -> {
+                List<Long> minhas = new ArrayList<>();
+                for (int ciclo = 0; ciclo < 5_000; ciclo++) {
+                    Long id = index.reservar(null, criterio, null);
+                    if (id == null || !tomadas.add(id)) {
+                        repetidas.incrementAndGet();
+                        continue;
+                    }
+                    minhas.add(id);
+                    if (minhas.size() > 100) {
+                        Long liberada = minhas.remove(ThreadLocalRandom.current().nextInt(minhas.size()));
+                        tomadas.remove(liberada);
+                        index.liberar(ZONA, liberada);
+                    }
+                }
+                for (Long id : minhas) {
+                    tomadas.remove(id);
+                    index.liberar(ZONA, id);
+                }
+            }));
+        }
+        for (Future<?> futuro : futuros) {
+            futuro.get();
+        }
+        executor.shutdown();
+
+        Assertions.assertThat(repetidas.get()).isZero();
+        Assertions.assertThat(index.livres()).isEqualTo(VAGAS);
+        Assertions.assertThat(index.reservar(null, MAIS_PROXIMA, null)).isEqualTo(1L);
+    }
+
+    @Test
+    public void reservarELiberar_CiclosConcorrentesSomentePorPreferencia_MantemTodasAsVagasNasOrdens() throws Exception {
+        Set<Long> tomadas = ConcurrentHashMap.newKeySet();
+        AtomicInteger repetidas = new AtomicInteger();
+        PreferenciaAlocacao.Criterio[] criterios = {MENOR_CODIGO, MAIS_PROXIMA};
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            PreferenciaAlocacao.Criterio criterio = criterios[t % criterios.length];
+            futuros.add(executor.submit(() -> {
+                for (int ciclo = 0; ciclo < 20_000; ciclo++) {
+                    Long id = index.reservar(null, criterio, null);
+                    if (id == null || !tomadas.add(id)) {
+                        repetidas.incrementAndGet();
+                        continue;
+                    }
+                    tomadas.remove(id);
+                    index.liberar(ZONA, id);
+                }
+            }));
+        }
+        for (Future<?> futuro : futuros) {
+            futuro.get();
+        }
+        executor.shutdown();
+
+        Assertions.assertThat(repetidas.get()).isZero();
+        Assertions.assertThat(index.livres()).isEqualTo(VAGAS);
+        Set<Long> todas = new HashSet<>();
+        for (int n = 0; n < VAGAS; n++) {
+            todas.add(index.reservar(null, MAIS_PROXIMA, null));
+        }
+        Assertions.assertThat(todas).hasSize(VAGAS).doesNotContainNull();
+    }
+
+    @Test
+    public void reservar_TipoEsgotado_DevolveNullSemRecarregar() {
+        for (int n = 0; n < VAGAS / 10; n++) {
+            Assertions.assertThat(index.reservar(List.of(ZONA), QUALQUER, Vaga.TipoVaga.PCD)).isNotNull();
+        }
+
+        for (int n = 0; n < 100; n++) {
+            Assertions.assertThat(index.reservar(List.of(ZONA), QUALQUER, Vaga.TipoVaga.PCD)).isNull();
+        }
+        Mockito.verify(vagaRepository, Mockito.times(1)).findAllZonaStatus();
+
+        index.liberar(ZONA, 1L);
+
+        Assertions.assertThat(index.reservar(List.of(ZONA), QUALQUER, Vaga.TipoVaga.PCD)).isEqualTo(1L);
+    }
+
+    private static int distancia(Long id) {
+        return (int) (((id - 1) * 7919) % VAGAS);
+    }
+
+    private record Projecao(Long id, Long zonaId, String codigo, Vaga.TipoVaga tipo, Integer distancia)
+            implements VagaZonaStatusProjection {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getZonaId() {
+            return zonaId;
+        }
+
+        @Override
+        public Vaga.StatusVaga getStatus() {
+            return Vaga.StatusVaga.LIVRE;
+        }
+
+        @Override
+        public String getCodigo() {
+            return codigo;
+        }
+
+        @Override
+        public Vaga.TipoVaga getTipo() {
+            return tipo;
+        }
+
+        @Override
+        public Integer getDistancia() {
+            return distancia;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.service.VagaService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cadastro de 10 mil vagas no H2 dos testes: uma chamada de {@link VagaService#salvar} por vaga contra
+ * {@link VagaService#salvarEmLote}. Cada medição começa com a tabela de vagas vazia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VagaLoteBenchmark {
+
+    @Param("10000")
+    private int vagas;
+
+    private ConfigurableApplicationContext context;
+    private VagaService vagaService;
+    private JdbcTemplate jdbcTemplate;
+    private List<String> codigos;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(ParkTestApiApplication.class)
+                .run("--server.port=0", "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false");
+        vagaService = context.getBean(VagaService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        codigos = new ArrayList<>(vagas);
+        for (int i = 0; i < vagas; i++) {
+            codigos.add(String.format("%04d", i));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void limpar() {
+        jdbcTemplate.update("delete from vagas");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int umaPorVez() {
+        for (String codigo : codigos) {
+            Vaga vaga = new Vaga();
+            vaga.setCodigo(codigo);
+            vaga.setStatusVaga(Vaga.StatusVaga.LIVRE);
+            vagaService.salvar(vaga);
+        }
+        return codigos.size();
+    }
+
+    @Benchmark
+    public int emLote() {
+        return vagaService.salvarEmLote(codigos, Vaga.StatusVaga.LIVRE).criadas();
+    }
+}
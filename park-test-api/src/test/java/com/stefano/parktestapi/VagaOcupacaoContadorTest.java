@@ -0,0 +1,75 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.entity.Vaga;
+import com.stefano.parktestapi.repository.VagaRepository;
+import com.stefano.parktestapi.repository.projection.VagaStatusContagemProjection;
+import com.stefano.parktestapi.service.VagaOcupacaoContador;
+import com.stefano.parktestapi.service.event.VagaStatusAlteradoEvent;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static com.stefano.parktestapi.entity.Vaga.StatusVaga.LIVRE;
+import static com.stefano.parktestapi.entity.Vaga.StatusVaga.OCUPADA;
+
+public class VagaOcupacaoContadorTest {
+
+    private static final long ZONA = 1L;
+
+    private final VagaRepository vagaRepository = Mockito.mock(VagaRepository.class);
+    private final VagaOcupacaoContador contador = new VagaOcupacaoContador(vagaRepository);
+
+    @BeforeEach
+    public void carregar() {
+        Mockito.when(vagaRepository.contarPorZonaEStatus())
+                .thenReturn(List.of(new Contagem(ZONA, LIVRE, 10), new Contagem(ZONA, OCUPADA, 5)));
+        contador.reconciliar();
+    }
+
+    @Test
+    public void reconciliar_EventoDuranteAConsulta_ManterOEvento() {
+        // a contagem foi lida antes do commit do check-in, cujo evento chega enquanto a consulta termina
+        Mockito.when(vagaRepository.contarPorZonaEStatus()).thenAnswer(invocation -> {
+            contador.onVagaStatusAlterado(new VagaStatusAlteradoEvent(1L, "A-01", ZONA, LIVRE, OCUPADA));
+            return List.of(new Contagem(ZONA, LIVRE, 10), new Contagem(ZONA, OCUPADA, 5));
+        });
+
+        contador.reconciliar();
+
+        Assertions.assertThat(contador.ocupacao(ZONA)).containsEntry(LIVRE, 9L).containsEntry(OCUPADA, 6L);
+    }
+
+    @Test
+    public void reconciliar_ContadorDesviado_CorrigirPeloBanco() {
+        contador.onVagaStatusAlterado(new VagaStatusAlteradoEvent(1L, "A-01", ZONA, LIVRE, OCUPADA));
+        // alteração feita por outro nó: o banco já tem as duas vagas ocupadas
+        Mockito.when(vagaRepository.contarPorZonaEStatus())
+                .thenReturn(List.of(new Contagem(ZONA, LIVRE, 8), new Contagem(ZONA, OCUPADA, 7)));
+
+        contador.reconciliar();
+
+        Assertions.assertThat(contador.ocupacao(ZONA)).containsEntry(LIVRE, 8L).containsEntry(OCUPADA, 7L);
+        Assertions.assertThat(contador.ocupacao()).containsEntry(LIVRE, 8L).containsEntry(OCUPADA, 7L);
+    }
+
+    private record Contagem(Long zonaId, Vaga.StatusVaga status, long quantidade) implements VagaStatusContagemProjection {
+
+        @Override
+        public Long getZonaId() {
+            return zonaId;
+        }
+
+        @Override
+        public Vaga.StatusVaga getStatus() {
+            return status;
+        }
+
+        @Override
+        public long getQuantidade() {
+            return quantidade;
+        }
+    }
+}
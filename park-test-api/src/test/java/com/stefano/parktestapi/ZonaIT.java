@@ -0,0 +1,176 @@
+package com.stefano.parktestapi;
+
+import com.stefano.parktestapi.service.VagaCodigoCache;
+import com.stefano.parktestapi.service.VagaLivreIndex;
+import com.stefano.parktestapi.service.VagaOcupacaoContador;
+import com.stefano.parktestapi.web.dto.VagaResponseDto;
+import com.stefano.parktestapi.web.dto.ZonaCreateDto;
+import com.stefano.parktestapi.web.dto.ZonaResponseDto;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "/sql/zonas/zonas-insert.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/zonas/zonas-delete.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ZonaIT {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    VagaLivreIndex vagaLivreIndex;
+
+    @Autowired
+    VagaCodigoCache vagaCodigoCache;
+
+    @Autowired
+    VagaOcupacaoContador vagaOcupacaoContador;
+
+    @BeforeEach
+    public void recarregarIndice() {
+        vagaLivreIndex.recarregar();
+        vagaCodigoCache.invalidar();
+        vagaOcupacaoContador.reconciliar();
+    }
+
+    @Test
+    public void criarZona_DadosValidos_RetornarLocationStatus201() {
+
+        testClient.post()
+                .uri("/api/v1/zonas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new ZonaCreateDto("D", "Bloco D", 3))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists(HttpHeaders.LOCATION);
+    }
+
+    @Test
+    public void criarZona_CodigoExistente_RetornarErrorMessage409() {
+
+        testClient.post()
+                .uri("/api/v1/zonas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new ZonaCreateDto("A", "Outro bloco A", 1))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("message").isEqualTo("Zona de Código A já cadastrada.");
+    }
+
+    @Test
+    public void criarZona_ComPerfilCliente_RetornarErrorMessage403() {
+
+        testClient.post()
+                .uri("/api/v1/zonas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "riri@test.com", "123456"))
+                .bodyValue(new ZonaCreateDto("D", "Bloco D", 3))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    public void listarZonas_RetornarZonasPorNivelStatus200() {
+
+        List<ZonaResponseDto> zonas = testClient.get()
+                .uri("/api/v1/zonas")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ZonaResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(zonas).extracting(ZonaResponseDto::getCodigo).containsExactly("A", "B");
+    }
+
+    @Test
+    public void alocarVaga_PorZona_RetornarVagaDaZonaStatus200() {
+
+        for (int i = 0; i < 2; i++) {
+            VagaResponseDto vaga = alocar("/api/v1/vagas/alocar?zona=B").expectStatus().isOk()
+                    .expectBody(VagaResponseDto.class).returnResult().getResponseBody();
+            Assertions.assertThat(vaga.getCodigo()).startsWith("B-");
+            Assertions.assertThat(vaga.getStatus()).isEqualTo("OCUPADA");
+        }
+
+        alocar("/api/v1/vagas/alocar?zona=B").expectStatus().isNotFound();
+    }
+
+    @Test
+    public void alocarVaga_PorNivel_RetornarVagaDoNivelStatus200() {
+
+        alocar("/api/v1/vagas/alocar?nivel=1").expectStatus().isOk()
+                .expectBody()
+                .jsonPath("codigo").isEqualTo("A-01");
+
+        alocar("/api/v1/vagas/alocar?nivel=1").expectStatus().isNotFound();
+    }
+
+    @Test
+    public void alocarVaga_ZonaInexistente_RetornarErrorMessage404() {
+
+        alocar("/api/v1/vagas/alocar?zona=Z").expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("message").isEqualTo("Zona de Código Z não encontrada.");
+    }
+
+    @Test
+    public void buscarOcupacao_PorZona_RetornarContagemDaZonaStatus200() {
+
+        alocar("/api/v1/vagas/alocar?zona=B").expectStatus().isOk();
+
+        testClient.get()
+                .uri("/api/v1/vagas/ocupacao?zona=B")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("total").isEqualTo(2)
+                .jsonPath("status.LIVRE").isEqualTo(1)
+                .jsonPath("status.OCUPADA").isEqualTo(1);
+    }
+
+    @Test
+    public void criarZona_VagasComPrefixo_VincularVagasAZona() {
+
+        testClient.post()
+                .uri("/api/v1/zonas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .bodyValue(new ZonaCreateDto("C", "Bloco C", 3))
+                .exchange()
+                .expectStatus().isCreated();
+
+        testClient.get()
+                .uri("/api/v1/vagas/ocupacao?zona=C")
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("total").isEqualTo(1)
+                .jsonPath("status.LIVRE").isEqualTo(1);
+
+        alocar("/api/v1/vagas/alocar?zona=C").expectStatus().isOk()
+                .expectBody()
+                .jsonPath("codigo").isEqualTo("C-01");
+    }
+
+    private WebTestClient.ResponseSpec alocar(String uri) {
+        return testClient.post()
+                .uri(uri)
+                .headers(JwtAuthentication.getHeaderAuthorization(testClient, "romeo@test.com", "123456"))
+                .exchange();
+    }
+}
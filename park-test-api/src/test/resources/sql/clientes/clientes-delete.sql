@@ -1,2 +1,4 @@
+DELETE FROM CLIENTES_TEM_VAGAS;
+DELETE FROM REFRESH_TOKENS;
 DELETE FROM CLIENTES;
 DELETE FROM USUARIOS;
\ No newline at end of file
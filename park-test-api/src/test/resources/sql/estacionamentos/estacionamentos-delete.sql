@@ -0,0 +1,6 @@
+DELETE FROM CLIENTES_TEM_VAGAS;
+DELETE FROM REFRESH_TOKENS;
+DELETE FROM CLIENTES;
+DELETE FROM VAGAS;
+DELETE FROM ZONAS;
+DELETE FROM USUARIOS;
\ No newline at end of file
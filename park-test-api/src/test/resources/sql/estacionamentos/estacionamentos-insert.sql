@@ -0,0 +1,15 @@
+insert into USUARIOS (id, username, password, role) values (100,'romeo@test.com', '$2a$12$n6iriMrp9A2vX/2rEZJVQOxpxlscHP/AhkOsNsnG9gdrI65NjF2Pq', 'ROLE_ADMIN');
+insert into USUARIOS (id, username, password, role) values (101,'peto@test.com', '$2a$12$n6iriMrp9A2vX/2rEZJVQOxpxlscHP/AhkOsNsnG9gdrI65NjF2Pq', 'ROLE_CLIENTE');
+insert into USUARIOS (id, username, password, role) values (102,'riri@test.com', '$2a$12$n6iriMrp9A2vX/2rEZJVQOxpxlscHP/AhkOsNsnG9gdrI65NjF2Pq', 'ROLE_CLIENTE');
+
+insert into CLIENTES (id, nome, cpf, id_usuario) values (10, 'Peto Stefano', '40591050072', 101);
+insert into CLIENTES (id, nome, cpf, id_usuario) values (20, 'Riri Stefano', '71490768076', 102);
+
+insert into VAGAS (id, codigo, status) values (10, 'A-01', 'OCUPADA');
+insert into VAGAS (id, codigo, status) values (20, 'A-02', 'LIVRE');
+insert into VAGAS (id, codigo, status) values (30, 'A-03', 'LIVRE');
+insert into VAGAS (id, codigo, status) values (40, 'A-04', 'LIVRE');
+insert into VAGAS (id, codigo, status) values (50, 'A-05', 'LIVRE');
+
+insert into CLIENTES_TEM_VAGAS (id, numero_recibo, placa, marca, modelo, cor, data_entrada, id_cliente, id_vaga)
+    values (100, '20231013-101300-A-01', 'FIT-1020', 'FIAT', 'PALIO', 'VERDE', '2023-10-13 10:13:00', 20, 10);
@@ -0,0 +1 @@
+update VAGAS set status = 'RESERVADA', reservada_ate = '2020-01-01 00:00:00', id_usuario_reserva = 101 where id = 20;
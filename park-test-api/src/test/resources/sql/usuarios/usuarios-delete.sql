@@ -1 +1,2 @@
+DELETE FROM REFRESH_TOKENS;
 DELETE FROM USUARIOS;
\ No newline at end of file
@@ -0,0 +1 @@
+insert into VAGAS (id, codigo, status, reservada_ate) values (50, 'A-05', 'RESERVADA', '2020-01-01 00:00:00');
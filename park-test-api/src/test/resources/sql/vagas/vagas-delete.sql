@@ -1,2 +1,5 @@
+DELETE FROM CLIENTES_TEM_VAGAS;
+DELETE FROM REFRESH_TOKENS;
 DELETE FROM VAGAS;
+DELETE FROM ZONAS;
 DELETE FROM USUARIOS;
\ No newline at end of file
@@ -2,7 +2,7 @@ insert into USUARIOS (id, username, password, role) values (100,'romeo@test.com'
 insert into USUARIOS (id, username, password, role) values (101,'peto@test.com', '$2a$12$n6iriMrp9A2vX/2rEZJVQOxpxlscHP/AhkOsNsnG9gdrI65NjF2Pq', 'ROLE_CLIENTE');
 insert into USUARIOS (id, username, password, role) values (102,'riri@test.com', '$2a$12$n6iriMrp9A2vX/2rEZJVQOxpxlscHP/AhkOsNsnG9gdrI65NjF2Pq', 'ROLE_CLIENTE');
 
-insert into VAGAS (id, codigo, status) values (10, 'A-01', 'LIVRE');
-insert into VAGAS (id, codigo, status) values (20, 'A-02', 'LIVRE');
-insert into VAGAS (id, codigo, status) values (30, 'A-03', 'OCUPADA');
-insert into VAGAS (id, codigo, status) values (40, 'A-04', 'LIVRE');
\ No newline at end of file
+insert into VAGAS (id, codigo, status, distancia) values (10, 'A-01', 'LIVRE', 30);
+insert into VAGAS (id, codigo, status, distancia) values (20, 'A-02', 'LIVRE', 10);
+insert into VAGAS (id, codigo, status, distancia) values (30, 'A-03', 'OCUPADA', 5);
+insert into VAGAS (id, codigo, status, tipo, distancia) values (40, 'A-04', 'LIVRE', 'PCD', 20);
\ No newline at end of file
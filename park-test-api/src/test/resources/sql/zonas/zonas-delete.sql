@@ -0,0 +1,4 @@
+DELETE FROM REFRESH_TOKENS;
+DELETE FROM VAGAS;
+DELETE FROM ZONAS;
+DELETE FROM USUARIOS;
\ No newline at end of file
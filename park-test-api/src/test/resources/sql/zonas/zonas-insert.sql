@@ -0,0 +1,11 @@
+insert into USUARIOS (id, username, password, role) values (100,'romeo@test.com', '$2a$12$n6iriMrp9A2vX/2rEZJVQOxpxlscHP/AhkOsNsnG9gdrI65NjF2Pq', 'ROLE_ADMIN');
+insert into USUARIOS (id, username, password, role) values (102,'riri@test.com', '$2a$12$n6iriMrp9A2vX/2rEZJVQOxpxlscHP/AhkOsNsnG9gdrI65NjF2Pq', 'ROLE_CLIENTE');
+
+insert into ZONAS (id, codigo, nome, nivel) values (1, 'A', 'Bloco A', 1);
+insert into ZONAS (id, codigo, nome, nivel) values (2, 'B', 'Bloco B', 2);
+
+insert into VAGAS (id, codigo, status, id_zona) values (10, 'A-01', 'LIVRE', 1);
+insert into VAGAS (id, codigo, status, id_zona) values (20, 'A-02', 'OCUPADA', 1);
+insert into VAGAS (id, codigo, status, id_zona) values (30, 'B-01', 'LIVRE', 2);
+insert into VAGAS (id, codigo, status, id_zona) values (40, 'B-02', 'LIVRE', 2);
+insert into VAGAS (id, codigo, status) values (50, 'C-01', 'LIVRE');